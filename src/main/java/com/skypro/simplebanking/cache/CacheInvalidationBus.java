@@ -0,0 +1,89 @@
+package com.skypro.simplebanking.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class CacheInvalidationBus {
+  public static final String ALL_KEYS = "*";
+
+  private final InvalidationTransport transport;
+  private final int maxSize;
+  private final long ttlNanos;
+  private final ConcurrentMap<String, VersionedCache<?>> caches = new ConcurrentHashMap<>();
+
+  public CacheInvalidationBus(
+      InvalidationTransport transport,
+      @Value("${app.cache.enabled}") boolean enabled,
+      @Value("${app.cache.max-size}") int maxSize,
+      @Value("${app.cache.ttl-seconds}") long ttlSeconds) {
+    this.transport = transport;
+    this.maxSize = enabled ? maxSize : 0;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  @PostConstruct
+  public void start() {
+    transport.start(this::onMessage, this::clearAll);
+  }
+
+  @PreDestroy
+  public void stop() {
+    transport.stop();
+  }
+
+  public <V> VersionedCache<V> createCache(String name) {
+    VersionedCache<V> cache = new VersionedCache<>(name, maxSize, ttlNanos);
+    caches.put(name, cache);
+    return cache;
+  }
+
+  public void invalidateAfterCommit(String cacheName, String key) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidate(cacheName, key);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            invalidate(cacheName, key);
+          }
+        });
+  }
+
+  private void invalidate(String cacheName, String key) {
+    VersionedCache<?> cache = caches.get(cacheName);
+    if (cache != null) {
+      if (ALL_KEYS.equals(key)) {
+        cache.clear();
+      } else {
+        cache.invalidateLocally(key);
+      }
+    }
+    transport.publish(cacheName, key);
+  }
+
+  private void onMessage(InvalidationMessage message) {
+    VersionedCache<?> cache = caches.get(message.getCacheName());
+    if (cache == null) {
+      return;
+    }
+    if (ALL_KEYS.equals(message.getKey())) {
+      cache.clear();
+    } else {
+      cache.invalidate(message.getKey(), message.getVersion());
+    }
+  }
+
+  private void clearAll() {
+    caches.values().forEach(VersionedCache::clear);
+  }
+}
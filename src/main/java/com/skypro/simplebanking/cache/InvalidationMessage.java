@@ -0,0 +1,25 @@
+package com.skypro.simplebanking.cache;
+
+public class InvalidationMessage {
+  private final String cacheName;
+  private final String key;
+  private final long version;
+
+  public InvalidationMessage(String cacheName, String key, long version) {
+    this.cacheName = cacheName;
+    this.key = key;
+    this.version = version;
+  }
+
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+}
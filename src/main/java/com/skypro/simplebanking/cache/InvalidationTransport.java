@@ -0,0 +1,16 @@
+package com.skypro.simplebanking.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers cache invalidations between nodes. Versions are assigned by the transport and must be
+ * comparable across nodes for the same key; {@code onReconnect} is called whenever messages may
+ * have been missed.
+ */
+public interface InvalidationTransport {
+  void start(Consumer<InvalidationMessage> listener, Runnable onReconnect);
+
+  void publish(String cacheName, String key);
+
+  void stop();
+}
@@ -0,0 +1,28 @@
+package com.skypro.simplebanking.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.cache.transport", havingValue = "local")
+public class LocalInvalidationTransport implements InvalidationTransport {
+  private final AtomicLong version = new AtomicLong();
+  private volatile Consumer<InvalidationMessage> listener = message -> {};
+
+  @Override
+  public void start(Consumer<InvalidationMessage> listener, Runnable onReconnect) {
+    this.listener = listener;
+  }
+
+  @Override
+  public void publish(String cacheName, String key) {
+    listener.accept(new InvalidationMessage(cacheName, key, version.incrementAndGet()));
+  }
+
+  @Override
+  public void stop() {
+    listener = message -> {};
+  }
+}
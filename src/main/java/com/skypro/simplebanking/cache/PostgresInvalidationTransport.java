@@ -0,0 +1,155 @@
+package com.skypro.simplebanking.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends invalidations with {@code pg_notify} and receives them with {@code LISTEN} on a single
+ * dedicated connection. Versions are taken from the database clock, which all nodes share. When
+ * the outbound queue is full the invalidation is not dropped: its whole cache is marked for a
+ * flush, and the listener thread sends one invalidation of all keys for it ahead of the queue.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "app.cache.transport",
+    havingValue = "postgres",
+    matchIfMissing = true)
+public class PostgresInvalidationTransport implements InvalidationTransport {
+  private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+  private static final String CHANNEL = "cache_invalidation";
+  private static final String NOTIFY_SQL =
+      "SELECT pg_notify(?, ? || '|' || CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000"
+          + " AS BIGINT))";
+  private static final long MAX_RECONNECT_DELAY_MILLIS = 30000;
+
+  private final DataSource dataSource;
+  private final int pollMillis;
+  private final BlockingQueue<String> outbound;
+  private final Set<String> pendingFlushes = ConcurrentHashMap.newKeySet();
+  private volatile boolean running;
+  private Thread thread;
+
+  public PostgresInvalidationTransport(
+      DataSource dataSource,
+      @Value("${app.cache.poll-millis}") int pollMillis,
+      @Value("${app.cache.max-pending-invalidations}") int maxPendingInvalidations) {
+    this.dataSource = dataSource;
+    this.pollMillis = pollMillis;
+    this.outbound = new LinkedBlockingQueue<>(maxPendingInvalidations);
+  }
+
+  @Override
+  public void start(Consumer<InvalidationMessage> listener, Runnable onReconnect) {
+    running = true;
+    thread = new Thread(() -> run(listener, onReconnect), "cache-invalidation-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void publish(String cacheName, String key) {
+    if (!outbound.offer(cacheName + '|' + key) && pendingFlushes.add(cacheName)) {
+      log.warn("Outbound invalidation queue is full, flushing cache {} on all nodes", cacheName);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run(Consumer<InvalidationMessage> listener, Runnable onReconnect) {
+    long reconnectDelayMillis = 100;
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        // Anything published while we were not listening is lost, so start from an empty cache.
+        onReconnect.run();
+        reconnectDelayMillis = 100;
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (PreparedStatement notify = connection.prepareStatement(NOTIFY_SQL)) {
+          while (running) {
+            for (Iterator<String> flushes = pendingFlushes.iterator(); flushes.hasNext(); ) {
+              String cacheName = flushes.next();
+              flushes.remove();
+              send(notify, cacheName, CacheInvalidationBus.ALL_KEYS);
+            }
+            String payload;
+            while ((payload = outbound.poll()) != null) {
+              int cacheEnd = payload.indexOf('|');
+              send(notify, payload.substring(0, cacheEnd), payload.substring(cacheEnd + 1));
+            }
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications != null) {
+              for (PGNotification notification : notifications) {
+                InvalidationMessage message = parse(notification.getParameter());
+                if (message != null) {
+                  listener.accept(message);
+                }
+              }
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.warn(
+            "Cache invalidation connection lost, reconnecting in {} ms", reconnectDelayMillis, e);
+        try {
+          Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+        reconnectDelayMillis = Math.min(reconnectDelayMillis * 2, MAX_RECONNECT_DELAY_MILLIS);
+      }
+    }
+  }
+
+  // An invalidation that could not be sent is turned into a flush of its cache after reconnecting.
+  private void send(PreparedStatement notify, String cacheName, String key) throws SQLException {
+    try {
+      notify.setString(1, CHANNEL);
+      notify.setString(2, cacheName + '|' + key);
+      notify.execute();
+    } catch (SQLException e) {
+      pendingFlushes.add(cacheName);
+      throw e;
+    }
+  }
+
+  private static InvalidationMessage parse(String payload) {
+    int cacheEnd = payload.indexOf('|');
+    int keyEnd = payload.lastIndexOf('|');
+    if (cacheEnd < 0 || keyEnd <= cacheEnd) {
+      log.warn("Ignoring malformed cache invalidation {}", payload);
+      return null;
+    }
+    return new InvalidationMessage(
+        payload.substring(0, cacheEnd),
+        payload.substring(cacheEnd + 1, keyEnd),
+        Long.parseLong(payload.substring(keyEnd + 1)));
+  }
+}
@@ -0,0 +1,101 @@
+package com.skypro.simplebanking.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache whose entries remember the version of the last invalidation applied to their
+ * key. Invalidations that are not newer than that version arrived out of order and are dropped.
+ * Versions are only kept for keys that are cached or being loaded, so an invalidation of any other
+ * key leaves nothing behind. A load first puts a placeholder entry for its key and only stores its
+ * value if that same entry is still there afterwards; any invalidation of the key replaces the
+ * entry, so a load that raced with one is not stored, while loads of other keys are unaffected.
+ * Entries also expire after a time to live, as a safety net for invalidations that never arrive.
+ */
+public class VersionedCache<V> {
+  private final String name;
+  private final int maxSize;
+  private final long ttlNanos;
+  private final LongSupplier clock;
+  private final ConcurrentMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  VersionedCache(String name, int maxSize, long ttlNanos) {
+    this(name, maxSize, ttlNanos, System::nanoTime);
+  }
+
+  VersionedCache(String name, int maxSize, long ttlNanos, LongSupplier clock) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttlNanos = ttlNanos;
+    this.clock = clock;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public V get(String key, Function<String, V> loader) {
+    if (maxSize <= 0) {
+      return loader.apply(key);
+    }
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.value != null && !entry.isExpired(clock.getAsLong(), ttlNanos)) {
+      return entry.value;
+    }
+    if (entry == null && entries.size() >= maxSize) {
+      entries.clear();
+    }
+    Entry<V> placeholder =
+        entries.compute(
+            key,
+            (k, current) ->
+                current == null || current.value != null
+                    ? new Entry<>(null, current == null ? 0 : current.version, 0)
+                    : current);
+    V value = loader.apply(key);
+    if (value != null) {
+      long loadedAt = clock.getAsLong();
+      entries.computeIfPresent(
+          key,
+          (k, current) ->
+              current == placeholder ? new Entry<>(value, current.version, loadedAt) : current);
+    }
+    return value;
+  }
+
+  void invalidate(String key, long version) {
+    entries.computeIfPresent(
+        key,
+        (k, current) -> current.version >= version ? current : new Entry<>(null, version, 0));
+  }
+
+  void invalidateLocally(String key) {
+    entries.computeIfPresent(key, (k, current) -> new Entry<>(null, current.version, 0));
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long version;
+    private final long loadedAtNanos;
+
+    private Entry(V value, long version, long loadedAtNanos) {
+      this.value = value;
+      this.version = version;
+      this.loadedAtNanos = loadedAtNanos;
+    }
+
+    private boolean isExpired(long nowNanos, long ttlNanos) {
+      return nowNanos - loadedAtNanos >= ttlNanos;
+    }
+  }
+}
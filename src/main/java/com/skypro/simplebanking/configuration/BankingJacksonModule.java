@@ -0,0 +1,226 @@
+package com.skypro.simplebanking.configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.BalanceChangeRequest;
+import com.skypro.simplebanking.dto.ListAccountDTO;
+import com.skypro.simplebanking.dto.ListUserDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written serializers for the DTOs on the request hot paths. They write fields in the same
+ * order and with the same names as the bean serializers they replace, but without reflection and
+ * with field names encoded once.
+ */
+@Component
+public class BankingJacksonModule extends SimpleModule {
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+  private static final SerializedString AMOUNT = new SerializedString("amount");
+  private static final SerializedString CURRENCY = new SerializedString("currency");
+  private static final SerializedString USERNAME = new SerializedString("username");
+  private static final SerializedString ACCOUNTS = new SerializedString("accounts");
+
+  public BankingJacksonModule() {
+    super("BankingJacksonModule");
+    addSerializer(AccountDTO.class, new AccountDTOSerializer());
+    addSerializer(ListAccountDTO.class, new ListAccountDTOSerializer());
+    addSerializer(UserDTO.class, new UserDTOSerializer());
+    addSerializer(ListUserDTO.class, new ListUserDTOSerializer());
+    addDeserializer(TransferRequest.class, new TransferRequestDeserializer());
+    addDeserializer(BalanceChangeRequest.class, new BalanceChangeRequestDeserializer());
+  }
+
+  private static void writeAccount(AccountDTO account, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(ID);
+    generator.writeNumber(account.getId());
+    generator.writeFieldName(AMOUNT);
+    generator.writeNumber(account.getAmount());
+    writeCurrency(account.getCurrency(), generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeListAccount(ListAccountDTO account, JsonGenerator generator)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(ACCOUNT_ID);
+    if (account.getAccountId() == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(account.getAccountId());
+    }
+    writeCurrency(account.getCurrency(), generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeCurrency(AccountCurrency currency, JsonGenerator generator)
+      throws IOException {
+    generator.writeFieldName(CURRENCY);
+    if (currency == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(currency.name());
+    }
+  }
+
+  private static long readLong(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getLongValue();
+    }
+    return context.readValue(parser, Long.TYPE);
+  }
+
+  private static class AccountDTOSerializer extends StdSerializer<AccountDTO> {
+    private AccountDTOSerializer() {
+      super(AccountDTO.class);
+    }
+
+    @Override
+    public void serialize(AccountDTO value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      writeAccount(value, generator);
+    }
+  }
+
+  private static class ListAccountDTOSerializer extends StdSerializer<ListAccountDTO> {
+    private ListAccountDTOSerializer() {
+      super(ListAccountDTO.class);
+    }
+
+    @Override
+    public void serialize(
+        ListAccountDTO value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      writeListAccount(value, generator);
+    }
+  }
+
+  private static class UserDTOSerializer extends StdSerializer<UserDTO> {
+    private UserDTOSerializer() {
+      super(UserDTO.class);
+    }
+
+    @Override
+    public void serialize(UserDTO value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeFieldName(ID);
+      generator.writeNumber(value.getId());
+      generator.writeFieldName(USERNAME);
+      generator.writeString(value.getUsername());
+      generator.writeFieldName(ACCOUNTS);
+      if (value.getAccounts() == null) {
+        generator.writeNull();
+      } else {
+        generator.writeStartArray();
+        for (AccountDTO account : value.getAccounts()) {
+          writeAccount(account, generator);
+        }
+        generator.writeEndArray();
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  private static class ListUserDTOSerializer extends StdSerializer<ListUserDTO> {
+    private ListUserDTOSerializer() {
+      super(ListUserDTO.class);
+    }
+
+    @Override
+    public void serialize(ListUserDTO value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeFieldName(ID);
+      generator.writeNumber(value.getId());
+      generator.writeFieldName(USERNAME);
+      generator.writeString(value.getUsername());
+      generator.writeFieldName(ACCOUNTS);
+      if (value.getAccounts() == null) {
+        generator.writeNull();
+      } else {
+        generator.writeStartArray();
+        for (ListAccountDTO account : value.getAccounts()) {
+          writeListAccount(account, generator);
+        }
+        generator.writeEndArray();
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  private static class TransferRequestDeserializer extends StdDeserializer<TransferRequest> {
+    private TransferRequestDeserializer() {
+      super(TransferRequest.class);
+    }
+
+    @Override
+    public TransferRequest deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      if (!parser.isExpectedStartObjectToken()) {
+        return (TransferRequest) context.handleUnexpectedToken(TransferRequest.class, parser);
+      }
+      TransferRequest request = new TransferRequest();
+      for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+        parser.nextToken();
+        switch (field) {
+          case "fromAccountId":
+            request.setFromAccountId(readLong(parser, context));
+            break;
+          case "toUserId":
+            request.setToUserId(readLong(parser, context));
+            break;
+          case "toAccountId":
+            request.setToAccountId(readLong(parser, context));
+            break;
+          case "amount":
+            request.setAmount(readLong(parser, context));
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+      return request;
+    }
+  }
+
+  private static class BalanceChangeRequestDeserializer
+      extends StdDeserializer<BalanceChangeRequest> {
+    private BalanceChangeRequestDeserializer() {
+      super(BalanceChangeRequest.class);
+    }
+
+    @Override
+    public BalanceChangeRequest deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      if (!parser.isExpectedStartObjectToken()) {
+        return (BalanceChangeRequest)
+            context.handleUnexpectedToken(BalanceChangeRequest.class, parser);
+      }
+      BalanceChangeRequest request = new BalanceChangeRequest();
+      for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+        parser.nextToken();
+        if ("amount".equals(field)) {
+          request.setAmount(readLong(parser, context));
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return request;
+    }
+  }
+}
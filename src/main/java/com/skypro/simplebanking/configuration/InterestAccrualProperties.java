@@ -0,0 +1,55 @@
+package com.skypro.simplebanking.configuration;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.interest")
+public class InterestAccrualProperties {
+  private Map<AccountCurrency, Integer> annualRateBasisPoints = new EnumMap<>(AccountCurrency.class);
+  private int partitions = 4;
+  private long chunkSize = 1000;
+  private long chunkPauseMillis = 10;
+  private long maxChunkMillis = 200;
+
+  public Map<AccountCurrency, Integer> getAnnualRateBasisPoints() {
+    return annualRateBasisPoints;
+  }
+
+  public void setAnnualRateBasisPoints(Map<AccountCurrency, Integer> annualRateBasisPoints) {
+    this.annualRateBasisPoints = annualRateBasisPoints;
+  }
+
+  public int getPartitions() {
+    return partitions;
+  }
+
+  public void setPartitions(int partitions) {
+    this.partitions = partitions;
+  }
+
+  public long getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(long chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public long getChunkPauseMillis() {
+    return chunkPauseMillis;
+  }
+
+  public void setChunkPauseMillis(long chunkPauseMillis) {
+    this.chunkPauseMillis = chunkPauseMillis;
+  }
+
+  public long getMaxChunkMillis() {
+    return maxChunkMillis;
+  }
+
+  public void setMaxChunkMillis(long maxChunkMillis) {
+    this.maxChunkMillis = maxChunkMillis;
+  }
+}
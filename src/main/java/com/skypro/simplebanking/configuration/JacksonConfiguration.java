@@ -0,0 +1,15 @@
+package com.skypro.simplebanking.configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+  // Replaces reflective accessors of the remaining DTOs with generated lambdas.
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+}
@@ -0,0 +1,52 @@
+package com.skypro.simplebanking.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.reconciliation")
+public class ReconciliationProperties {
+  private int parallelism = 4;
+  private long chunkSize = 10000;
+  private long settleSeconds = 60;
+  private int maxReportedDiscrepancies = 1000;
+  private long leaseSeconds = 3600;
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public long getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(long chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public long getSettleSeconds() {
+    return settleSeconds;
+  }
+
+  public void setSettleSeconds(long settleSeconds) {
+    this.settleSeconds = settleSeconds;
+  }
+
+  public int getMaxReportedDiscrepancies() {
+    return maxReportedDiscrepancies;
+  }
+
+  public void setMaxReportedDiscrepancies(int maxReportedDiscrepancies) {
+    this.maxReportedDiscrepancies = maxReportedDiscrepancies;
+  }
+
+  public long getLeaseSeconds() {
+    return leaseSeconds;
+  }
+
+  public void setLeaseSeconds(long leaseSeconds) {
+    this.leaseSeconds = leaseSeconds;
+  }
+}
@@ -0,0 +1,106 @@
+package com.skypro.simplebanking.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.scheduled-transfers")
+public class ScheduledTransferProperties {
+  private boolean enabled = true;
+  private long tickMillis = 100;
+  private int wheelSize = 512;
+  private long loadIntervalMillis = 30000;
+  private long lookaheadSeconds = 60;
+  private long leaseGraceSeconds = 60;
+  private int pageSize = 1000;
+  private int parallelism = 4;
+  private int batchSize = 50;
+  private int queueCapacity = 1000;
+  private long retryDelaySeconds = 300;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getTickMillis() {
+    return tickMillis;
+  }
+
+  public void setTickMillis(long tickMillis) {
+    this.tickMillis = tickMillis;
+  }
+
+  public int getWheelSize() {
+    return wheelSize;
+  }
+
+  public void setWheelSize(int wheelSize) {
+    this.wheelSize = wheelSize;
+  }
+
+  public long getLoadIntervalMillis() {
+    return loadIntervalMillis;
+  }
+
+  public void setLoadIntervalMillis(long loadIntervalMillis) {
+    this.loadIntervalMillis = loadIntervalMillis;
+  }
+
+  public long getLookaheadSeconds() {
+    return lookaheadSeconds;
+  }
+
+  public void setLookaheadSeconds(long lookaheadSeconds) {
+    this.lookaheadSeconds = lookaheadSeconds;
+  }
+
+  public long getLeaseGraceSeconds() {
+    return leaseGraceSeconds;
+  }
+
+  public void setLeaseGraceSeconds(long leaseGraceSeconds) {
+    this.leaseGraceSeconds = leaseGraceSeconds;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public long getRetryDelaySeconds() {
+    return retryDelaySeconds;
+  }
+
+  public void setRetryDelaySeconds(long retryDelaySeconds) {
+    this.retryDelaySeconds = retryDelaySeconds;
+  }
+}
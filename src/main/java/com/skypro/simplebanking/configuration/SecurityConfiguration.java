@@ -47,6 +47,8 @@ public class SecurityConfiguration {
                 .hasRole("USER")
                 .antMatchers("/transfer/**")
                 .hasRole("USER")
+                .antMatchers("/monitoring/**")
+                .hasRole("ADMIN")
                 .anyRequest()
                 .authenticated()
                 .and()
@@ -0,0 +1,27 @@
+package com.skypro.simplebanking.configuration;
+
+import com.skypro.simplebanking.cache.CacheInvalidationBus;
+import com.skypro.simplebanking.service.InterestAccrualService;
+import com.skypro.simplebanking.service.ReconciliationService;
+import com.skypro.simplebanking.service.ScheduledTransferService;
+import com.skypro.simplebanking.service.VelocityLimiter;
+import com.skypro.simplebanking.service.WriteTransactionExecutor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfiguration {
+  // With spring.main.lazy-initialization these beans would never start their background threads or
+  // register their @Scheduled methods, so they are always created eagerly.
+  @Bean
+  public static LazyInitializationExcludeFilter backgroundComponentsExcludeFilter() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+        CacheInvalidationBus.class,
+        WriteTransactionExecutor.class,
+        ScheduledTransferService.class,
+        InterestAccrualService.class,
+        ReconciliationService.class,
+        VelocityLimiter.class);
+  }
+}
@@ -0,0 +1,58 @@
+package com.skypro.simplebanking.configuration;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityLimitProperties {
+  private boolean enabled = true;
+  private int maxTrackedKeys = 1000000;
+  private Map<AccountCurrency, Rule> rules = new EnumMap<>(AccountCurrency.class);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxTrackedKeys() {
+    return maxTrackedKeys;
+  }
+
+  public void setMaxTrackedKeys(int maxTrackedKeys) {
+    this.maxTrackedKeys = maxTrackedKeys;
+  }
+
+  public Map<AccountCurrency, Rule> getRules() {
+    return rules;
+  }
+
+  public void setRules(Map<AccountCurrency, Rule> rules) {
+    this.rules = rules;
+  }
+
+  public static class Rule {
+    private long maxWithdrawalsPerMinute;
+    private long maxTransferredPerHour;
+
+    public long getMaxWithdrawalsPerMinute() {
+      return maxWithdrawalsPerMinute;
+    }
+
+    public void setMaxWithdrawalsPerMinute(long maxWithdrawalsPerMinute) {
+      this.maxWithdrawalsPerMinute = maxWithdrawalsPerMinute;
+    }
+
+    public long getMaxTransferredPerHour() {
+      return maxTransferredPerHour;
+    }
+
+    public void setMaxTransferredPerHour(long maxTransferredPerHour) {
+      this.maxTransferredPerHour = maxTransferredPerHour;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.skypro.simplebanking.controller;
 
 import com.skypro.simplebanking.exception.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,4 +32,21 @@ public class BankingExceptionHandlers {
   public ResponseEntity<?> handleWrongCurrency() {
     return ResponseEntity.badRequest().body("Account currencies should be same");
   }
+
+  @ExceptionHandler(value = {ScheduledTransferNotFoundException.class})
+  public ResponseEntity<?> handleScheduledTransferNotFound() {
+    return ResponseEntity.notFound().build();
+  }
+
+  @ExceptionHandler(value = {InvalidScheduleException.class})
+  public ResponseEntity<?> handleInvalidSchedule() {
+    return ResponseEntity.badRequest()
+        .body("Execution time is required and interval should be more than 0");
+  }
+
+  @ExceptionHandler(value = {VelocityLimitExceededException.class})
+  public ResponseEntity<?> handleVelocityLimitExceeded() {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .body("Too many operations, try again later");
+  }
 }
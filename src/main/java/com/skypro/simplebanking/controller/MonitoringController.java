@@ -0,0 +1,52 @@
+package com.skypro.simplebanking.controller;
+
+import com.skypro.simplebanking.dto.QueryStatisticsDTO;
+import com.skypro.simplebanking.dto.ReconciliationReportDTO;
+import com.skypro.simplebanking.monitoring.QueryStatistics;
+import com.skypro.simplebanking.service.ReconciliationService;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/monitoring")
+public class MonitoringController {
+  private final QueryStatistics queryStatistics;
+  private final ReconciliationService reconciliationService;
+
+  public MonitoringController(
+      QueryStatistics queryStatistics, ReconciliationService reconciliationService) {
+    this.queryStatistics = queryStatistics;
+    this.reconciliationService = reconciliationService;
+  }
+
+  @GetMapping("/queries")
+  public List<QueryStatisticsDTO> getQueryStatistics() {
+    return queryStatistics.snapshot();
+  }
+
+  @DeleteMapping("/queries")
+  public void resetQueryStatistics() {
+    queryStatistics.reset();
+  }
+
+  @GetMapping("/reconciliation")
+  public ResponseEntity<ReconciliationReportDTO> getReconciliationReport() {
+    return ResponseEntity.of(reconciliationService.getLastReport());
+  }
+
+  @PostMapping("/reconciliation")
+  public ResponseEntity<ReconciliationReportDTO> reconcile(
+      @RequestParam(value = "full", defaultValue = "false") boolean full) {
+    return reconciliationService
+        .reconcile(full)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+  }
+}
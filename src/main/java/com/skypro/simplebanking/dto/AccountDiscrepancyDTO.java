@@ -0,0 +1,60 @@
+package com.skypro.simplebanking.dto;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.AccountDiscrepancy;
+import com.skypro.simplebanking.repository.AccountBalance;
+
+public class AccountDiscrepancyDTO {
+  private final long accountId;
+  private final long userId;
+  private final AccountCurrency currency;
+  private final long amount;
+  private final long expectedAmount;
+
+  public AccountDiscrepancyDTO(
+      long accountId, long userId, AccountCurrency currency, long amount, long expectedAmount) {
+    this.accountId = accountId;
+    this.userId = userId;
+    this.currency = currency;
+    this.amount = amount;
+    this.expectedAmount = expectedAmount;
+  }
+
+  public long getAccountId() {
+    return accountId;
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public AccountCurrency getCurrency() {
+    return currency;
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public long getExpectedAmount() {
+    return expectedAmount;
+  }
+
+  public static AccountDiscrepancyDTO from(AccountBalance balance) {
+    return new AccountDiscrepancyDTO(
+        balance.getAccountId(),
+        balance.getUserId(),
+        AccountCurrency.values()[balance.getAccountCurrency()],
+        balance.getAmount(),
+        balance.getExpectedAmount());
+  }
+
+  public static AccountDiscrepancyDTO from(AccountDiscrepancy discrepancy) {
+    return new AccountDiscrepancyDTO(
+        discrepancy.getAccountId(),
+        discrepancy.getUserId(),
+        discrepancy.getAccountCurrency(),
+        discrepancy.getAmount(),
+        discrepancy.getExpectedAmount());
+  }
+}
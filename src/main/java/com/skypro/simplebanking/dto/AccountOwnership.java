@@ -0,0 +1,27 @@
+package com.skypro.simplebanking.dto;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+
+public class AccountOwnership {
+  private final long accountId;
+  private final long userId;
+  private final AccountCurrency currency;
+
+  public AccountOwnership(long accountId, long userId, AccountCurrency currency) {
+    this.accountId = accountId;
+    this.userId = userId;
+    this.currency = currency;
+  }
+
+  public long getAccountId() {
+    return accountId;
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public AccountCurrency getCurrency() {
+    return currency;
+  }
+}
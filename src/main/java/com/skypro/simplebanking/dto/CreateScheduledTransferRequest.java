@@ -0,0 +1,60 @@
+package com.skypro.simplebanking.dto;
+
+import java.time.Instant;
+
+public class CreateScheduledTransferRequest {
+  private long fromAccountId;
+  private long toUserId;
+  private long toAccountId;
+  private long amount;
+  private Instant executeAt;
+  private Long intervalSeconds;
+
+  public long getFromAccountId() {
+    return fromAccountId;
+  }
+
+  public void setFromAccountId(long fromAccountId) {
+    this.fromAccountId = fromAccountId;
+  }
+
+  public long getToUserId() {
+    return toUserId;
+  }
+
+  public void setToUserId(long toUserId) {
+    this.toUserId = toUserId;
+  }
+
+  public long getToAccountId() {
+    return toAccountId;
+  }
+
+  public void setToAccountId(long toAccountId) {
+    this.toAccountId = toAccountId;
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public void setAmount(long amount) {
+    this.amount = amount;
+  }
+
+  public Instant getExecuteAt() {
+    return executeAt;
+  }
+
+  public void setExecuteAt(Instant executeAt) {
+    this.executeAt = executeAt;
+  }
+
+  public Long getIntervalSeconds() {
+    return intervalSeconds;
+  }
+
+  public void setIntervalSeconds(Long intervalSeconds) {
+    this.intervalSeconds = intervalSeconds;
+  }
+}
@@ -0,0 +1,31 @@
+package com.skypro.simplebanking.dto;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+
+public class CurrencyTotalDTO {
+  private final AccountCurrency currency;
+  private final long amount;
+  private final long expectedAmount;
+
+  public CurrencyTotalDTO(AccountCurrency currency, long amount, long expectedAmount) {
+    this.currency = currency;
+    this.amount = amount;
+    this.expectedAmount = expectedAmount;
+  }
+
+  public AccountCurrency getCurrency() {
+    return currency;
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public long getExpectedAmount() {
+    return expectedAmount;
+  }
+
+  public boolean isBalanced() {
+    return amount == expectedAmount;
+  }
+}
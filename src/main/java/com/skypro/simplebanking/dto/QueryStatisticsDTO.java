@@ -0,0 +1,38 @@
+package com.skypro.simplebanking.dto;
+
+public class QueryStatisticsDTO {
+  private final String name;
+  private final long invocations;
+  private final long statements;
+  private final long maxStatements;
+  private final long elapsedMillis;
+
+  public QueryStatisticsDTO(
+      String name, long invocations, long statements, long maxStatements, long elapsedMillis) {
+    this.name = name;
+    this.invocations = invocations;
+    this.statements = statements;
+    this.maxStatements = maxStatements;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public long getStatements() {
+    return statements;
+  }
+
+  public long getMaxStatements() {
+    return maxStatements;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+}
@@ -0,0 +1,60 @@
+package com.skypro.simplebanking.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public class ReconciliationReportDTO {
+  private final Instant completedAt;
+  private final boolean incremental;
+  private final long durationMillis;
+  private final List<CurrencyTotalDTO> currencyTotals;
+  private final long discrepancyCount;
+  private final List<AccountDiscrepancyDTO> discrepancies;
+  private final Map<Long, Long> discrepancyByUser;
+
+  public ReconciliationReportDTO(
+      Instant completedAt,
+      boolean incremental,
+      long durationMillis,
+      List<CurrencyTotalDTO> currencyTotals,
+      long discrepancyCount,
+      List<AccountDiscrepancyDTO> discrepancies,
+      Map<Long, Long> discrepancyByUser) {
+    this.completedAt = completedAt;
+    this.incremental = incremental;
+    this.durationMillis = durationMillis;
+    this.currencyTotals = currencyTotals;
+    this.discrepancyCount = discrepancyCount;
+    this.discrepancies = discrepancies;
+    this.discrepancyByUser = discrepancyByUser;
+  }
+
+  public Instant getCompletedAt() {
+    return completedAt;
+  }
+
+  public boolean isIncremental() {
+    return incremental;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public List<CurrencyTotalDTO> getCurrencyTotals() {
+    return currencyTotals;
+  }
+
+  public long getDiscrepancyCount() {
+    return discrepancyCount;
+  }
+
+  public List<AccountDiscrepancyDTO> getDiscrepancies() {
+    return discrepancies;
+  }
+
+  public Map<Long, Long> getDiscrepancyByUser() {
+    return discrepancyByUser;
+  }
+}
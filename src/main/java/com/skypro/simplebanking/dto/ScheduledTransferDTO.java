@@ -0,0 +1,78 @@
+package com.skypro.simplebanking.dto;
+
+import com.skypro.simplebanking.entity.ScheduledTransfer;
+import java.time.Instant;
+
+public class ScheduledTransferDTO {
+  private final long id;
+  private final long fromAccountId;
+  private final long toUserId;
+  private final long toAccountId;
+  private final long amount;
+  private final Instant nextExecutionAt;
+  private final Long intervalSeconds;
+  private final String lastError;
+
+  public ScheduledTransferDTO(
+      long id,
+      long fromAccountId,
+      long toUserId,
+      long toAccountId,
+      long amount,
+      Instant nextExecutionAt,
+      Long intervalSeconds,
+      String lastError) {
+    this.id = id;
+    this.fromAccountId = fromAccountId;
+    this.toUserId = toUserId;
+    this.toAccountId = toAccountId;
+    this.amount = amount;
+    this.nextExecutionAt = nextExecutionAt;
+    this.intervalSeconds = intervalSeconds;
+    this.lastError = lastError;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public long getFromAccountId() {
+    return fromAccountId;
+  }
+
+  public long getToUserId() {
+    return toUserId;
+  }
+
+  public long getToAccountId() {
+    return toAccountId;
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public Instant getNextExecutionAt() {
+    return nextExecutionAt;
+  }
+
+  public Long getIntervalSeconds() {
+    return intervalSeconds;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public static ScheduledTransferDTO from(ScheduledTransfer scheduledTransfer) {
+    return new ScheduledTransferDTO(
+        scheduledTransfer.getId(),
+        scheduledTransfer.getFromAccountId(),
+        scheduledTransfer.getToUserId(),
+        scheduledTransfer.getToAccountId(),
+        scheduledTransfer.getAmount(),
+        scheduledTransfer.getNextExecutionAt(),
+        scheduledTransfer.getIntervalSeconds(),
+        scheduledTransfer.getLastError());
+  }
+}
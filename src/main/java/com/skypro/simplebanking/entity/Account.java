@@ -13,7 +13,7 @@ public class Account {
   private AccountCurrency accountCurrency;
   private Long amount;
 
-  @ManyToOne(optional = false)
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(nullable = false, updatable = false, name = "user_id")
   private User user;
 
@@ -0,0 +1,64 @@
+package com.skypro.simplebanking.entity;
+
+import java.time.Instant;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "account_discrepancies", indexes = @Index(columnList = "checkedAt"))
+public class AccountDiscrepancy {
+  @Id private Long accountId;
+
+  private Long userId;
+  private AccountCurrency accountCurrency;
+  private Long amount;
+  private Long expectedAmount;
+  private Instant checkedAt;
+
+  public Long getAccountId() {
+    return accountId;
+  }
+
+  public void setAccountId(Long accountId) {
+    this.accountId = accountId;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Long userId) {
+    this.userId = userId;
+  }
+
+  public AccountCurrency getAccountCurrency() {
+    return accountCurrency;
+  }
+
+  public void setAccountCurrency(AccountCurrency accountCurrency) {
+    this.accountCurrency = accountCurrency;
+  }
+
+  public Long getAmount() {
+    return amount;
+  }
+
+  public void setAmount(Long amount) {
+    this.amount = amount;
+  }
+
+  public Long getExpectedAmount() {
+    return expectedAmount;
+  }
+
+  public void setExpectedAmount(Long expectedAmount) {
+    this.expectedAmount = expectedAmount;
+  }
+
+  public Instant getCheckedAt() {
+    return checkedAt;
+  }
+
+  public void setCheckedAt(Instant checkedAt) {
+    this.checkedAt = checkedAt;
+  }
+}
@@ -0,0 +1,96 @@
+package com.skypro.simplebanking.entity;
+
+import java.time.Instant;
+import javax.persistence.*;
+
+@Entity
+@Table(
+    name = "account_movements",
+    indexes = {@Index(columnList = "accountId"), @Index(columnList = "createdAt")})
+public class AccountMovement {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account-movement-sequence")
+  @SequenceGenerator(name = "account-movement-sequence", sequenceName = "account_movement_sequence")
+  private Long id;
+
+  @Column(nullable = false)
+  private Long accountId;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  private AccountCurrency accountCurrency;
+  private Long amount;
+
+  @Enumerated(EnumType.STRING)
+  private MovementType type;
+
+  private Instant createdAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getAccountId() {
+    return accountId;
+  }
+
+  public void setAccountId(Long accountId) {
+    this.accountId = accountId;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Long userId) {
+    this.userId = userId;
+  }
+
+  public AccountCurrency getAccountCurrency() {
+    return accountCurrency;
+  }
+
+  public void setAccountCurrency(AccountCurrency accountCurrency) {
+    this.accountCurrency = accountCurrency;
+  }
+
+  public Long getAmount() {
+    return amount;
+  }
+
+  public void setAmount(Long amount) {
+    this.amount = amount;
+  }
+
+  public MovementType getType() {
+    return type;
+  }
+
+  public void setType(MovementType type) {
+    this.type = type;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public static AccountMovement of(Account account, long amount, MovementType type) {
+    AccountMovement movement = new AccountMovement();
+    movement.setAccountId(account.getId());
+    movement.setUserId(account.getUser().getId());
+    movement.setAccountCurrency(account.getAccountCurrency());
+    movement.setAmount(amount);
+    movement.setType(type);
+    movement.setCreatedAt(Instant.now());
+    return movement;
+  }
+}
@@ -0,0 +1,71 @@
+package com.skypro.simplebanking.entity;
+
+import java.time.LocalDate;
+import javax.persistence.*;
+
+@Entity
+@Table(
+    name = "interest_accrual_partitions",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"accrualDate", "rangeStart"}))
+public class InterestAccrualPartition {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest-accrual-partition-sequence")
+  @SequenceGenerator(
+      name = "interest-accrual-partition-sequence",
+      sequenceName = "interest_accrual_partition_sequence")
+  private Long id;
+
+  private LocalDate accrualDate;
+  private Long rangeStart;
+  private Long rangeEnd;
+  private Long lastProcessedId;
+  private boolean completed;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public LocalDate getAccrualDate() {
+    return accrualDate;
+  }
+
+  public void setAccrualDate(LocalDate accrualDate) {
+    this.accrualDate = accrualDate;
+  }
+
+  public Long getRangeStart() {
+    return rangeStart;
+  }
+
+  public void setRangeStart(Long rangeStart) {
+    this.rangeStart = rangeStart;
+  }
+
+  public Long getRangeEnd() {
+    return rangeEnd;
+  }
+
+  public void setRangeEnd(Long rangeEnd) {
+    this.rangeEnd = rangeEnd;
+  }
+
+  public Long getLastProcessedId() {
+    return lastProcessedId;
+  }
+
+  public void setLastProcessedId(Long lastProcessedId) {
+    this.lastProcessedId = lastProcessedId;
+  }
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  public void setCompleted(boolean completed) {
+    this.completed = completed;
+  }
+}
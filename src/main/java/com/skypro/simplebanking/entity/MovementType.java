@@ -0,0 +1,10 @@
+package com.skypro.simplebanking.entity;
+
+public enum MovementType {
+  OPENING,
+  DEPOSIT,
+  WITHDRAWAL,
+  TRANSFER_IN,
+  TRANSFER_OUT,
+  INTEREST
+}
@@ -0,0 +1,141 @@
+package com.skypro.simplebanking.entity;
+
+import java.time.Instant;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "scheduled_transfers", indexes = @Index(columnList = "nextExecutionAt"))
+public class ScheduledTransfer {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled-transfer-sequence")
+  @SequenceGenerator(
+      name = "scheduled-transfer-sequence",
+      sequenceName = "scheduled_transfer_sequence")
+  private Long id;
+
+  private Long userId;
+  private Long fromAccountId;
+  private Long toUserId;
+  private Long toAccountId;
+  private Long amount;
+  private Instant nextExecutionAt;
+  private Instant postponedFrom;
+  private Long intervalSeconds;
+  private boolean active;
+  private String leaseOwner;
+  private String leaseToken;
+  private Instant leaseUntil;
+  private String lastError;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Long userId) {
+    this.userId = userId;
+  }
+
+  public Long getFromAccountId() {
+    return fromAccountId;
+  }
+
+  public void setFromAccountId(Long fromAccountId) {
+    this.fromAccountId = fromAccountId;
+  }
+
+  public Long getToUserId() {
+    return toUserId;
+  }
+
+  public void setToUserId(Long toUserId) {
+    this.toUserId = toUserId;
+  }
+
+  public Long getToAccountId() {
+    return toAccountId;
+  }
+
+  public void setToAccountId(Long toAccountId) {
+    this.toAccountId = toAccountId;
+  }
+
+  public Long getAmount() {
+    return amount;
+  }
+
+  public void setAmount(Long amount) {
+    this.amount = amount;
+  }
+
+  public Instant getNextExecutionAt() {
+    return nextExecutionAt;
+  }
+
+  public void setNextExecutionAt(Instant nextExecutionAt) {
+    this.nextExecutionAt = nextExecutionAt;
+  }
+
+  public Instant getPostponedFrom() {
+    return postponedFrom;
+  }
+
+  public void setPostponedFrom(Instant postponedFrom) {
+    this.postponedFrom = postponedFrom;
+  }
+
+  public Long getIntervalSeconds() {
+    return intervalSeconds;
+  }
+
+  public void setIntervalSeconds(Long intervalSeconds) {
+    this.intervalSeconds = intervalSeconds;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public String getLeaseOwner() {
+    return leaseOwner;
+  }
+
+  public void setLeaseOwner(String leaseOwner) {
+    this.leaseOwner = leaseOwner;
+  }
+
+  public String getLeaseToken() {
+    return leaseToken;
+  }
+
+  public void setLeaseToken(String leaseToken) {
+    this.leaseToken = leaseToken;
+  }
+
+  public Instant getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(Instant leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+}
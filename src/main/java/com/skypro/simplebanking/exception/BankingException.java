@@ -0,0 +1,16 @@
+package com.skypro.simplebanking.exception;
+
+/**
+ * Base class for expected business failures. They are mapped to responses by {@code
+ * BankingExceptionHandlers} and never logged, so capturing a stack trace would only make rejected
+ * requests more expensive than accepted ones.
+ */
+public abstract class BankingException extends RuntimeException {
+  protected BankingException() {
+    this(null);
+  }
+
+  protected BankingException(String message) {
+    super(message, null, false, false);
+  }
+}
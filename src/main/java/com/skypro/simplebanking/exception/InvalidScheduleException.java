@@ -0,0 +1,5 @@
+package com.skypro.simplebanking.exception;
+
+public class InvalidScheduleException extends BankingException {
+  public static final InvalidScheduleException INSTANCE = new InvalidScheduleException();
+}
@@ -1,3 +1,5 @@
 package com.skypro.simplebanking.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {}
+public class UserAlreadyExistsException extends BankingException {
+  public static final UserAlreadyExistsException INSTANCE = new UserAlreadyExistsException();
+}
@@ -0,0 +1,6 @@
+package com.skypro.simplebanking.exception;
+
+public class VelocityLimitExceededException extends BankingException {
+  public static final VelocityLimitExceededException INSTANCE =
+      new VelocityLimitExceededException();
+}
@@ -1,3 +1,5 @@
 package com.skypro.simplebanking.exception;
 
-public class WrongCurrencyException extends RuntimeException{}
+public class WrongCurrencyException extends BankingException {
+  public static final WrongCurrencyException INSTANCE = new WrongCurrencyException();
+}
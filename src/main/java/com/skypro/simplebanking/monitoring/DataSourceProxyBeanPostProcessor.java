@@ -0,0 +1,37 @@
+package com.skypro.simplebanking.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every {@link DataSource} so that executed statements are counted per thread and statements
+ * slower than {@code app.monitoring.slow-query-threshold-ms} are logged together with their bind
+ * parameters.
+ */
+@Component
+public class DataSourceProxyBeanPostProcessor implements BeanPostProcessor {
+  private final long slowQueryThresholdMillis;
+
+  public DataSourceProxyBeanPostProcessor(
+      @Value("${app.monitoring.slow-query-threshold-ms}") long slowQueryThresholdMillis) {
+    this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+    if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+      return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+          .countQuery()
+          .logSlowQueryBySlf4j(slowQueryThresholdMillis, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
+          .build();
+    }
+    return bean;
+  }
+}
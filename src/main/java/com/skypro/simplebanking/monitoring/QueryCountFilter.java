@@ -0,0 +1,52 @@
+package com.skypro.simplebanking.monitoring;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records statements per HTTP endpoint. Statements are counted on the request thread, so with
+ * {@code app.group-commit.enabled} the writes that the group-commit thread runs for a request are
+ * not included; write endpoints then report only their reads, and their statements have to be
+ * judged from the database or from a run with group commit disabled.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+  private final QueryStatistics queryStatistics;
+
+  public QueryCountFilter(QueryStatistics queryStatistics) {
+    this.queryStatistics = queryStatistics;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    QueryCountHolder.clear();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryCount queryCount = QueryCountHolder.getGrandTotal();
+      queryStatistics.record(endpointName(request), queryCount.getTotal(), queryCount.getTime());
+      QueryCountHolder.clear();
+    }
+  }
+
+  private String endpointName(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : "<unmapped>");
+  }
+}
@@ -0,0 +1,53 @@
+package com.skypro.simplebanking.monitoring;
+
+import com.skypro.simplebanking.dto.QueryStatisticsDTO;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/** Aggregated statement counts and statement time per HTTP endpoint and per service method. */
+@Component
+public class QueryStatistics {
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public void record(String name, long statements, long elapsedMillis) {
+    entries.computeIfAbsent(name, key -> new Entry()).record(statements, elapsedMillis);
+  }
+
+  public List<QueryStatisticsDTO> snapshot() {
+    return entries.entrySet().stream()
+        .map(
+            entry ->
+                new QueryStatisticsDTO(
+                    entry.getKey(),
+                    entry.getValue().invocations.sum(),
+                    entry.getValue().statements.sum(),
+                    entry.getValue().maxStatements.get(),
+                    entry.getValue().elapsedMillis.sum()))
+        .sorted(Comparator.comparing(QueryStatisticsDTO::getName))
+        .collect(Collectors.toList());
+  }
+
+  public void reset() {
+    entries.clear();
+  }
+
+  private static class Entry {
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAccumulator maxStatements = new LongAccumulator(Long::max, 0);
+    private final LongAdder elapsedMillis = new LongAdder();
+
+    private void record(long statementCount, long elapsed) {
+      invocations.increment();
+      statements.add(statementCount);
+      maxStatements.accumulate(statementCount);
+      elapsedMillis.add(elapsed);
+    }
+  }
+}
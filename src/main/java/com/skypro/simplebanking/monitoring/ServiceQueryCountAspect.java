@@ -0,0 +1,63 @@
+package com.skypro.simplebanking.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records statements per public method of the request-facing services. Helpers such as {@code
+ * AccountDirectory} and {@code VelocityLimiter} sit on the fast-reject path and are deliberately
+ * not advised, and neither are the public helpers of {@code AccountService} that other services
+ * call on the way to their own work: the validations and the account creation of a new user.
+ *
+ * <p>Statements are counted on the calling thread. With group commit enabled, a write's statements
+ * run on the group-commit thread, so the write methods record only what they run before queueing
+ * the write; the batch's locking read, updates and commit are not attributed to any method.
+ */
+@Aspect
+@Component
+public class ServiceQueryCountAspect {
+  private final QueryStatistics queryStatistics;
+  private final ConcurrentMap<Method, String> names = new ConcurrentHashMap<>();
+
+  public ServiceQueryCountAspect(QueryStatistics queryStatistics) {
+    this.queryStatistics = queryStatistics;
+  }
+
+  @Around(
+      "(execution(public * com.skypro.simplebanking.service.AccountService.*(..))"
+          + " && !execution(* com.skypro.simplebanking.service.AccountService.validate*(..))"
+          + " && !execution(* com.skypro.simplebanking.service.AccountService.createDefault*(..)))"
+          + " || execution(public * com.skypro.simplebanking.service.TransferService.*(..))"
+          + " || execution(public * com.skypro.simplebanking.service.UserService.*(..))")
+  public Object countQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+    QueryCount before = QueryCountHolder.getGrandTotal();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      QueryCount after = QueryCountHolder.getGrandTotal();
+      queryStatistics.record(
+          name(joinPoint),
+          after.getTotal() - before.getTotal(),
+          after.getTime() - before.getTime());
+    }
+  }
+
+  private String name(ProceedingJoinPoint joinPoint) {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    String name = names.get(method);
+    if (name == null) {
+      name =
+          names.computeIfAbsent(
+              method, m -> m.getDeclaringClass().getSimpleName() + "." + m.getName() + "(..)");
+    }
+    return name;
+  }
+}
@@ -0,0 +1,278 @@
+package com.skypro.simplebanking.monitoring;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.BalanceChangeRequest;
+import com.skypro.simplebanking.dto.ListAccountDTO;
+import com.skypro.simplebanking.dto.ListUserDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.Account;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.User;
+import com.skypro.simplebanking.exception.BankingException;
+import com.skypro.simplebanking.exception.UserAlreadyExistsException;
+import com.skypro.simplebanking.repository.UserRepository;
+import com.skypro.simplebanking.service.AccountDirectory;
+import com.skypro.simplebanking.service.AccountService;
+import com.skypro.simplebanking.service.TransferService;
+import com.skypro.simplebanking.service.UserService;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Exercises the request hot paths before the application reports itself ready. Spring Boot only
+ * switches the readiness state to accepting traffic after all runners complete, so the JIT has
+ * compiled these paths by the time the first real request arrives. Each iteration runs real
+ * deposits, withdrawals and a transfer between fixture accounts inside a transaction that is
+ * rolled back, next to the paths that are rejected before any write, so no data is changed. The
+ * iterations stop early once the wall-clock budget is spent, so readiness is never held back for
+ * long. Once ready, one account request is sent through the HTTP stack and timed to show what a
+ * first client sees; it is made as a probe user kept for this purpose, whose password is the admin
+ * token.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+  private static final long UNKNOWN_ID = -1;
+  private static final String PROBE_USERNAME = "warmup-probe";
+
+  private final AccountService accountService;
+  private final TransferService transferService;
+  private final AccountDirectory accountDirectory;
+  private final UserService userService;
+  private final UserRepository userRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final QueryStatistics queryStatistics;
+  private final ConfigurableApplicationContext applicationContext;
+  private final String adminToken;
+  private final int iterations;
+  private final long maxMillis;
+  private final boolean exitAfterWarmup;
+  private volatile Long probeAccountId;
+
+  public WarmupRunner(
+      AccountService accountService,
+      TransferService transferService,
+      AccountDirectory accountDirectory,
+      UserService userService,
+      UserRepository userRepository,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      QueryStatistics queryStatistics,
+      ConfigurableApplicationContext applicationContext,
+      @Value("${app.security.admin-token}") String adminToken,
+      @Value("${app.warmup.iterations}") int iterations,
+      @Value("${app.warmup.max-millis}") long maxMillis,
+      @Value("${app.startup.exit-after-warmup}") boolean exitAfterWarmup) {
+    this.accountService = accountService;
+    this.transferService = transferService;
+    this.accountDirectory = accountDirectory;
+    this.userService = userService;
+    this.userRepository = userRepository;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.queryStatistics = queryStatistics;
+    this.applicationContext = applicationContext;
+    this.adminToken = adminToken;
+    this.iterations = iterations;
+    this.maxMillis = maxMillis;
+    this.exitAfterWarmup = exitAfterWarmup;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+    if (iterations > 0) {
+      long started = System.nanoTime();
+      long deadline = started + TimeUnit.MILLISECONDS.toNanos(maxMillis);
+      long firstIterationNanos = 0;
+      long lastIterationNanos = 0;
+      int completed = 0;
+      while (completed < iterations && (completed == 0 || System.nanoTime() - deadline < 0)) {
+        long iterationStarted = System.nanoTime();
+        warmUp();
+        lastIterationNanos = System.nanoTime() - iterationStarted;
+        if (completed == 0) {
+          firstIterationNanos = lastIterationNanos;
+        }
+        completed++;
+      }
+      probeAccountId = probeAccountId();
+      queryStatistics.reset();
+      log.info(
+          "Started in {} ms, warm-up of {} of {} iterations took {} ms,"
+              + " first iteration {} us, last iteration {} us",
+          startupMillis,
+          completed,
+          iterations,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+          TimeUnit.NANOSECONDS.toMicros(firstIterationNanos),
+          TimeUnit.NANOSECONDS.toMicros(lastIterationNanos));
+    } else {
+      log.info("Started in {} ms without warm-up", startupMillis);
+    }
+  }
+
+  @EventListener
+  public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event)
+      throws InterruptedException {
+    if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+      return;
+    }
+    if (probeAccountId != null) {
+      timeFirstRequest(probeAccountId);
+    }
+    if (exitAfterWarmup) {
+      System.exit(SpringApplication.exit(applicationContext));
+    }
+  }
+
+  private void timeFirstRequest(long accountId) throws InterruptedException {
+    String port = applicationContext.getEnvironment().getProperty("local.server.port");
+    if (port == null) {
+      return;
+    }
+    String credentials = PROBE_USERNAME + ":" + adminToken;
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/account/" + accountId))
+            .header(
+                "Authorization",
+                "Basic "
+                    + Base64.getEncoder()
+                        .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)))
+            .build();
+    long started = System.nanoTime();
+    try {
+      HttpResponse<Void> response =
+          HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+      log.info(
+          "First request after readiness answered {} in {} us",
+          response.statusCode(),
+          TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+    } catch (IOException e) {
+      log.warn("First request after readiness failed", e);
+    }
+  }
+
+  private void warmUp() throws JsonProcessingException {
+    TransferRequest transferRequest =
+        objectMapper.readValue(
+            "{\"fromAccountId\":-1,\"toUserId\":-1,\"toAccountId\":-1,\"amount\":1}",
+            TransferRequest.class);
+    BalanceChangeRequest balanceChangeRequest =
+        objectMapper.readValue("{\"amount\":-1}", BalanceChangeRequest.class);
+    expectRejection(() -> transferService.transfer(UNKNOWN_ID, transferRequest));
+    expectRejection(
+        () ->
+            accountService.depositToAccount(
+                UNKNOWN_ID, UNKNOWN_ID, balanceChangeRequest.getAmount()));
+    expectRejection(() -> accountService.withdrawFromAccount(UNKNOWN_ID, UNKNOWN_ID, 1));
+    expectRejection(() -> accountService.getAccount(UNKNOWN_ID, UNKNOWN_ID));
+    warmUpWrites();
+
+    AccountDTO account = new AccountDTO(1, 100, AccountCurrency.USD);
+    objectMapper.writeValueAsBytes(account);
+    objectMapper.writeValueAsBytes(new UserDTO(1, "warmup", List.of(account)));
+    objectMapper.writeValueAsBytes(
+        List.of(
+            new ListUserDTO(1, "warmup", List.of(new ListAccountDTO(1L, AccountCurrency.USD)))));
+  }
+
+  // The write transaction is joined by the services, so nothing here outlives the rollback. The
+  // fixture is flushed and detached first, so the accounts are read and locked as in a request.
+  private void warmUpWrites() {
+    List<Long> fixtureAccountIds = new ArrayList<>();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            status.setRollbackOnly();
+            User sender = createFixtureUser();
+            User recipient = createFixtureUser();
+            entityManager.flush();
+            entityManager.clear();
+            for (User user : List.of(sender, recipient)) {
+              for (Account account : user.getAccounts()) {
+                fixtureAccountIds.add(account.getId());
+                accountService.depositToAccount(user.getId(), account.getId(), 100);
+                accountService.withdrawFromAccount(user.getId(), account.getId(), 1);
+              }
+            }
+            TransferRequest transferRequest = new TransferRequest();
+            transferRequest.setFromAccountId(usdAccountId(sender));
+            transferRequest.setToUserId(recipient.getId());
+            transferRequest.setToAccountId(usdAccountId(recipient));
+            transferRequest.setAmount(1);
+            transferService.transfer(sender.getId(), transferRequest);
+          });
+    } finally {
+      fixtureAccountIds.forEach(accountDirectory::evict);
+    }
+  }
+
+  // Kept across restarts and shared by all nodes, so only the first start ever creates it.
+  private long probeAccountId() {
+    try {
+      userService.createUser(PROBE_USERNAME, adminToken);
+    } catch (UserAlreadyExistsException | DataIntegrityViolationException e) {
+      // created by an earlier start or by another node
+    }
+    return transactionTemplate.execute(
+        status -> usdAccountId(userRepository.findByUsername(PROBE_USERNAME).orElseThrow()));
+  }
+
+  private User createFixtureUser() {
+    User user = new User();
+    user.setUsername("warmup-" + UUID.randomUUID());
+    user.setPassword("");
+    userRepository.save(user);
+    accountService.createDefaultAccounts(user);
+    return user;
+  }
+
+  private static long usdAccountId(User user) {
+    return user.getAccounts().stream()
+        .filter(account -> account.getAccountCurrency() == AccountCurrency.USD)
+        .findFirst()
+        .orElseThrow()
+        .getId();
+  }
+
+  private static void expectRejection(Runnable call) {
+    try {
+      call.run();
+    } catch (BankingException expected) {
+      // every warm-up call is rejected before it can change anything
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.skypro.simplebanking.repository;
+
+public interface AccountBalance {
+  Long getAccountId();
+
+  Long getUserId();
+
+  Integer getAccountCurrency();
+
+  Long getAmount();
+
+  Long getExpectedAmount();
+}
@@ -0,0 +1,44 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.AccountDiscrepancy;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountDiscrepancyRepository extends JpaRepository<AccountDiscrepancy, Long> {
+  List<AccountDiscrepancy> findByOrderByAccountId(Pageable pageable);
+
+  @Query(
+      "select d.userId as userId, sum(d.amount - d.expectedAmount) as difference"
+          + " from AccountDiscrepancy d group by d.userId order by d.userId")
+  List<UserDiscrepancy> sumDifferenceByUser();
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO account_discrepancies"
+              + " (account_id, user_id, account_currency, amount, expected_amount, checked_at)"
+              + " VALUES (:accountId, :userId, :accountCurrency, :amount, :expectedAmount,"
+              + " :checkedAt) ON CONFLICT (account_id) DO UPDATE SET"
+              + " user_id = EXCLUDED.user_id, account_currency = EXCLUDED.account_currency,"
+              + " amount = EXCLUDED.amount, expected_amount = EXCLUDED.expected_amount,"
+              + " checked_at = EXCLUDED.checked_at",
+      nativeQuery = true)
+  int upsert(
+      @Param("accountId") long accountId,
+      @Param("userId") long userId,
+      @Param("accountCurrency") int accountCurrency,
+      @Param("amount") long amount,
+      @Param("expectedAmount") long expectedAmount,
+      @Param("checkedAt") Instant checkedAt);
+
+  @Modifying
+  @Query("delete from AccountDiscrepancy d where d.checkedAt < :checkedBefore")
+  int deleteByCheckedAtBefore(@Param("checkedBefore") Instant checkedBefore);
+}
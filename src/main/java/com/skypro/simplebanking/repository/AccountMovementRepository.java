@@ -0,0 +1,68 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.AccountMovement;
+import com.skypro.simplebanking.entity.MovementType;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountMovementRepository extends JpaRepository<AccountMovement, Long> {
+  @Query(
+      "select m.id as id, m.accountId as accountId, m.userId as userId,"
+          + " m.accountCurrency as accountCurrency, m.amount as amount, m.createdAt as createdAt"
+          + " from AccountMovement m where m.type = :type and (m.createdAt > :createdAfter"
+          + " or (m.createdAt = :createdAfter and m.id > :idAfter)) order by m.createdAt, m.id")
+  List<MovementEntry> findEntriesAfter(
+      @Param("type") MovementType type,
+      @Param("createdAfter") Instant createdAfter,
+      @Param("idAfter") long idAfter,
+      Pageable pageable);
+
+  @Query(
+      "select m.accountCurrency as accountCurrency, sum(m.amount) as amount"
+          + " from AccountMovement m group by m.accountCurrency")
+  List<CurrencyTotal> sumByCurrency();
+
+  @Query(
+      value =
+          "SELECT a.id AS accountId, a.user_id AS userId, a.account_currency AS accountCurrency,"
+              + " a.amount AS amount, CAST(COALESCE(SUM(m.amount), 0) AS BIGINT) AS expectedAmount"
+              + " FROM accounts a LEFT JOIN account_movements m ON m.account_id = a.id"
+              + " WHERE a.id > :fromId AND a.id <= :toId"
+              + " GROUP BY a.id, a.user_id, a.account_currency, a.amount"
+              + " HAVING a.amount <> COALESCE(SUM(m.amount), 0)",
+      nativeQuery = true)
+  List<AccountBalance> findMismatchedBalancesByAccountIdRange(
+      @Param("fromId") long fromId, @Param("toId") long toId);
+
+  @Query(
+      value =
+          "SELECT a.id AS accountId, a.user_id AS userId, a.account_currency AS accountCurrency,"
+              + " a.amount AS amount, CAST(COALESCE(SUM(m.amount), 0) AS BIGINT) AS expectedAmount"
+              + " FROM accounts a LEFT JOIN account_movements m ON m.account_id = a.id"
+              + " WHERE a.id IN (SELECT c.account_id FROM account_movements c"
+              + " WHERE c.created_at >= :movedFrom AND c.created_at < :movedUntil)"
+              + " GROUP BY a.id, a.user_id, a.account_currency, a.amount"
+              + " HAVING a.amount <> COALESCE(SUM(m.amount), 0)",
+      nativeQuery = true)
+  List<AccountBalance> findMismatchedBalancesMovedBetween(
+      @Param("movedFrom") Instant movedFrom, @Param("movedUntil") Instant movedUntil);
+
+  @Query(
+      value =
+          "SELECT a.id AS accountId, a.user_id AS userId, a.account_currency AS accountCurrency,"
+              + " a.amount AS amount, CAST(COALESCE(SUM(m.amount), 0) AS BIGINT) AS expectedAmount"
+              + " FROM accounts a LEFT JOIN account_movements m ON m.account_id = a.id"
+              + " WHERE a.id IN (SELECT d.account_id FROM account_discrepancies d"
+              + " WHERE d.checked_at < :checkedBefore)"
+              + " GROUP BY a.id, a.user_id, a.account_currency, a.amount"
+              + " HAVING a.amount <> COALESCE(SUM(m.amount), 0)",
+      nativeQuery = true)
+  List<AccountBalance> findMismatchedBalancesOfDiscrepanciesCheckedBefore(
+      @Param("checkedBefore") Instant checkedBefore);
+}
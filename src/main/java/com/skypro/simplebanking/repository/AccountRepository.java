@@ -1,11 +1,57 @@
 package com.skypro.simplebanking.repository;
 
+import com.skypro.simplebanking.dto.AccountOwnership;
 import com.skypro.simplebanking.entity.Account;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-  Optional<Account> getAccountByUser_IdAndId(Long userId, Long accountId);
+  @Query(
+      "select new com.skypro.simplebanking.dto.AccountOwnership(a.id, a.user.id, a.accountCurrency)"
+          + " from Account a where a.id = :id")
+  Optional<AccountOwnership> findOwnershipById(@Param("id") long id);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Account a where a.id in :ids order by a.id")
+  List<Account> lockAllInIdOrder(@Param("ids") Collection<Long> ids);
+
+  @Query("select min(a.id) from Account a")
+  Long findMinId();
+
+  @Query("select max(a.id) from Account a")
+  Long findMaxId();
+
+  @Query(
+      "select a.accountCurrency as accountCurrency, sum(a.amount) as amount"
+          + " from Account a group by a.accountCurrency")
+  List<CurrencyTotal> sumByCurrency();
+
+  @Modifying
+  @Query(
+      value =
+          "WITH source AS (SELECT id, amount * :annualRateBasisPoints / 3650000 AS credit"
+              + " FROM accounts WHERE account_currency = :currency"
+              + " AND amount * :annualRateBasisPoints / 3650000 > 0"
+              + " AND id > :fromId AND id <= :toId ORDER BY id FOR UPDATE),"
+              + " credited AS (UPDATE accounts a SET amount = a.amount + s.credit FROM source s"
+              + " WHERE a.id = s.id RETURNING a.id, a.user_id, a.account_currency, s.credit)"
+              + " INSERT INTO account_movements"
+              + " (id, account_id, user_id, account_currency, amount, type, created_at)"
+              + " SELECT nextval('account_movement_sequence'), id, user_id, account_currency,"
+              + " credit, 'INTEREST', now() FROM credited",
+      nativeQuery = true)
+  int accrueDailyInterest(
+      @Param("currency") int currency,
+      @Param("annualRateBasisPoints") long annualRateBasisPoints,
+      @Param("fromId") long fromId,
+      @Param("toId") long toId);
 }
@@ -0,0 +1,9 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+
+public interface CurrencyTotal {
+  AccountCurrency getAccountCurrency();
+
+  Long getAmount();
+}
@@ -0,0 +1,33 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.InterestAccrualPartition;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InterestAccrualPartitionRepository
+    extends JpaRepository<InterestAccrualPartition, Long> {
+  boolean existsByAccrualDate(LocalDate accrualDate);
+
+  List<InterestAccrualPartition> findByAccrualDateAndCompletedFalse(LocalDate accrualDate);
+
+  @Query(
+      "select distinct p.accrualDate from InterestAccrualPartition p where p.completed = false"
+          + " order by p.accrualDate")
+  List<LocalDate> findIncompleteAccrualDates();
+
+  @Modifying
+  @Query(
+      "update InterestAccrualPartition p set p.lastProcessedId = :toId, p.completed = :completed"
+          + " where p.id = :id and p.lastProcessedId = :fromId")
+  int advanceCheckpoint(
+      @Param("id") long id,
+      @Param("fromId") long fromId,
+      @Param("toId") long toId,
+      @Param("completed") boolean completed);
+}
@@ -0,0 +1,18 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.time.Instant;
+
+public interface MovementEntry {
+  Long getId();
+
+  Long getAccountId();
+
+  Long getUserId();
+
+  AccountCurrency getAccountCurrency();
+
+  Long getAmount();
+
+  Instant getCreatedAt();
+}
@@ -0,0 +1,46 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.ReconciliationCheckpoint;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationCheckpointRepository
+    extends JpaRepository<ReconciliationCheckpoint, Long> {
+  @Modifying
+  @Query(
+      value = "INSERT INTO reconciliation_checkpoints (id) VALUES (:id) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfMissing(@Param("id") long id);
+
+  @Modifying
+  @Query(
+      "update ReconciliationCheckpoint c set c.leaseOwner = :owner, c.leaseUntil = :leaseUntil"
+          + " where c.id = :id and (c.leaseUntil is null or c.leaseUntil < :now)")
+  int acquireLease(
+      @Param("id") long id,
+      @Param("owner") String owner,
+      @Param("leaseUntil") Instant leaseUntil,
+      @Param("now") Instant now);
+
+  @Modifying
+  @Query(
+      "update ReconciliationCheckpoint c set c.settledUntil = :settledUntil,"
+          + " c.completedAt = :completedAt, c.leaseOwner = null, c.leaseUntil = null"
+          + " where c.id = :id and c.leaseOwner = :owner")
+  int complete(
+      @Param("id") long id,
+      @Param("owner") String owner,
+      @Param("settledUntil") Instant settledUntil,
+      @Param("completedAt") Instant completedAt);
+
+  @Modifying
+  @Query(
+      "update ReconciliationCheckpoint c set c.leaseOwner = null, c.leaseUntil = null"
+          + " where c.id = :id and c.leaseOwner = :owner")
+  int releaseLease(@Param("id") long id, @Param("owner") String owner);
+}
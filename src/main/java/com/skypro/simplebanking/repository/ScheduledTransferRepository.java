@@ -0,0 +1,57 @@
+package com.skypro.simplebanking.repository;
+
+import com.skypro.simplebanking.entity.ScheduledTransfer;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+  List<ScheduledTransfer> findByUserIdAndActiveTrueOrderByNextExecutionAt(Long userId);
+
+  List<ScheduledTransfer> findByLeaseToken(String leaseToken);
+
+  @Modifying
+  @Query(
+      value =
+          "UPDATE scheduled_transfers SET lease_owner = :owner, lease_token = :token,"
+              + " lease_until = :leaseUntil WHERE id IN (SELECT id FROM scheduled_transfers"
+              + " WHERE active = true AND next_execution_at < :windowEnd"
+              + " AND (lease_until IS NULL OR lease_until < :now)"
+              + " ORDER BY next_execution_at LIMIT :limit FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int lease(
+      @Param("owner") String owner,
+      @Param("token") String token,
+      @Param("leaseUntil") Instant leaseUntil,
+      @Param("now") Instant now,
+      @Param("windowEnd") Instant windowEnd,
+      @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      "update ScheduledTransfer s set s.nextExecutionAt = :nextExecutionAt,"
+          + " s.postponedFrom = :postponedFrom, s.active = :active, s.lastError = :lastError,"
+          + " s.leaseOwner = :nextOwner, s.leaseToken = :nextToken, s.leaseUntil = :nextLeaseUntil"
+          + " where s.id = :id and s.leaseToken = :token")
+  int complete(
+      @Param("id") long id,
+      @Param("token") String token,
+      @Param("nextExecutionAt") Instant nextExecutionAt,
+      @Param("postponedFrom") Instant postponedFrom,
+      @Param("active") boolean active,
+      @Param("lastError") String lastError,
+      @Param("nextOwner") String nextOwner,
+      @Param("nextToken") String nextToken,
+      @Param("nextLeaseUntil") Instant nextLeaseUntil);
+
+  @Modifying
+  @Query(
+      "update ScheduledTransfer s set s.active = false, s.leaseOwner = null, s.leaseToken = null,"
+          + " s.leaseUntil = null where s.id = :id and s.userId = :userId and s.active = true")
+  int cancel(@Param("id") long id, @Param("userId") long userId);
+}
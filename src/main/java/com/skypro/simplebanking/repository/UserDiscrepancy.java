@@ -0,0 +1,7 @@
+package com.skypro.simplebanking.repository;
+
+public interface UserDiscrepancy {
+  Long getUserId();
+
+  Long getDifference();
+}
@@ -1,11 +1,16 @@
 package com.skypro.simplebanking.repository;
 
 import com.skypro.simplebanking.entity.User;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
+
+  @Query("select distinct u from User u left join fetch u.accounts")
+  List<User> findAllWithAccounts();
 }
@@ -0,0 +1,55 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.dto.AccountOwnership;
+import com.skypro.simplebanking.exception.AccountNotFoundException;
+import com.skypro.simplebanking.repository.AccountRepository;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches who owns an account and in which currency it is held. Neither ever changes after the
+ * account is created, so the cache needs no invalidation and lets requests for unknown or foreign
+ * accounts be rejected without opening a write transaction.
+ */
+@Component
+public class AccountDirectory {
+  private final AccountRepository accountRepository;
+  private final int maxSize;
+  private final ConcurrentMap<Long, AccountOwnership> accounts = new ConcurrentHashMap<>();
+
+  public AccountDirectory(
+      AccountRepository accountRepository, @Value("${app.accounts.directory-size}") int maxSize) {
+    this.accountRepository = accountRepository;
+    this.maxSize = maxSize;
+  }
+
+  public AccountOwnership getAccount(long accountId) {
+    AccountOwnership ownership = accounts.get(accountId);
+    if (ownership == null) {
+      ownership =
+          accountRepository
+              .findOwnershipById(accountId)
+              .orElseThrow(() -> AccountNotFoundException.INSTANCE);
+      if (accounts.size() >= maxSize) {
+        accounts.clear();
+      }
+      accounts.put(accountId, ownership);
+    }
+    return ownership;
+  }
+
+  /** Forgets an account whose creation was rolled back, such as a warm-up fixture. */
+  public void evict(long accountId) {
+    accounts.remove(accountId);
+  }
+
+  public AccountOwnership getOwnedAccount(long userId, long accountId) {
+    AccountOwnership ownership = getAccount(accountId);
+    if (ownership.getUserId() != userId) {
+      throw AccountNotFoundException.INSTANCE;
+    }
+    return ownership;
+  }
+}
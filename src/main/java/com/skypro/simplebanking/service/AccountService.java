@@ -1,25 +1,56 @@
 package com.skypro.simplebanking.service;
 
+import com.skypro.simplebanking.cache.CacheInvalidationBus;
+import com.skypro.simplebanking.cache.VersionedCache;
 import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.AccountOwnership;
 import com.skypro.simplebanking.entity.Account;
 import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.AccountMovement;
+import com.skypro.simplebanking.entity.MovementType;
 import com.skypro.simplebanking.entity.User;
 import com.skypro.simplebanking.exception.AccountNotFoundException;
 import com.skypro.simplebanking.exception.InsufficientFundsException;
 import com.skypro.simplebanking.exception.InvalidAmountException;
 import com.skypro.simplebanking.exception.WrongCurrencyException;
+import com.skypro.simplebanking.repository.AccountMovementRepository;
 import com.skypro.simplebanking.repository.AccountRepository;
 import java.util.ArrayList;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AccountService {
+  public static final String ACCOUNTS_CACHE = "accounts";
+
   private final AccountRepository accountRepository;
+  private final EntityManager entityManager;
+  private final AccountMovementRepository accountMovementRepository;
+  private final AccountDirectory accountDirectory;
+  private final WriteTransactionExecutor writeTransactionExecutor;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final VersionedCache<AccountDTO> accountCache;
+  private final VelocityLimiter velocityLimiter;
 
-  public AccountService(AccountRepository accountRepository) {
+  public AccountService(
+      AccountRepository accountRepository,
+      EntityManager entityManager,
+      AccountMovementRepository accountMovementRepository,
+      AccountDirectory accountDirectory,
+      WriteTransactionExecutor writeTransactionExecutor,
+      CacheInvalidationBus cacheInvalidationBus,
+      VelocityLimiter velocityLimiter) {
     this.accountRepository = accountRepository;
+    this.entityManager = entityManager;
+    this.accountMovementRepository = accountMovementRepository;
+    this.accountDirectory = accountDirectory;
+    this.writeTransactionExecutor = writeTransactionExecutor;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.accountCache = cacheInvalidationBus.createCache(ACCOUNTS_CACHE);
+    this.velocityLimiter = velocityLimiter;
   }
 
   @Transactional(propagation = Propagation.MANDATORY)
@@ -32,55 +63,94 @@ public class AccountService {
       account.setAmount(1L);
       user.getAccounts().add(account);
       accountRepository.save(account);
+      accountMovementRepository.save(AccountMovement.of(account, 1L, MovementType.OPENING));
     }
   }
 
-  @Transactional(readOnly = true)
   public AccountDTO getAccount(long userId, Long accountId) {
-    return accountRepository
-        .getAccountByUser_IdAndId(userId, accountId)
-        .map(AccountDTO::from)
-        .orElseThrow(AccountNotFoundException::new);
+    accountDirectory.getOwnedAccount(userId, accountId);
+    return accountCache.get(
+        String.valueOf(accountId),
+        key ->
+            accountRepository
+                .findById(accountId)
+                .map(AccountDTO::from)
+                .orElseThrow(() -> AccountNotFoundException.INSTANCE));
   }
 
-  @Transactional
   public void validateCurrency(long sourceAccount, long destinationAccount) {
-    Account acc1 =
-        accountRepository.findById(sourceAccount).orElseThrow(AccountNotFoundException::new);
-    Account acc2 =
-        accountRepository.findById(destinationAccount).orElseThrow(AccountNotFoundException::new);
-    if (!acc1.getAccountCurrency().equals(acc2.getAccountCurrency())){
-      throw new WrongCurrencyException();
+    AccountOwnership source = accountDirectory.getAccount(sourceAccount);
+    AccountOwnership destination = accountDirectory.getAccount(destinationAccount);
+    if (source.getCurrency() != destination.getCurrency()) {
+      throw WrongCurrencyException.INSTANCE;
     }
   }
 
-  @Transactional
-  public AccountDTO depositToAccount(long userId, Long accountId, long amount) {
+  public void validateAmount(long amount) {
     if (amount < 0) {
-      throw new InvalidAmountException();
+      throw InvalidAmountException.INSTANCE;
     }
-    Account account =
-        accountRepository
-            .getAccountByUser_IdAndId(userId, accountId)
-            .orElseThrow(AccountNotFoundException::new);
-    account.setAmount(account.getAmount() + amount);
-    return AccountDTO.from(account);
   }
 
-  @Transactional
+  public AccountDTO depositToAccount(long userId, Long accountId, long amount) {
+    return depositToAccount(userId, accountId, amount, MovementType.DEPOSIT);
+  }
+
+  public AccountDTO depositToAccount(long userId, Long accountId, long amount, MovementType type) {
+    validateAmount(amount);
+    accountDirectory.getOwnedAccount(userId, accountId);
+    return writeTransactionExecutor.execute(() -> deposit(accountId, amount, type), accountId);
+  }
+
   public AccountDTO withdrawFromAccount(long id, Long accountId, long amount) {
-    if (amount < 0) {
-      throw new InvalidAmountException();
+    return withdrawFromAccount(id, accountId, amount, MovementType.WITHDRAWAL);
+  }
+
+  public AccountDTO withdrawFromAccount(long id, Long accountId, long amount, MovementType type) {
+    validateAmount(amount);
+    AccountOwnership ownership = accountDirectory.getOwnedAccount(id, accountId);
+    if (type != MovementType.WITHDRAWAL) {
+      return writeTransactionExecutor.execute(
+          () -> withdraw(accountId, amount, type), accountId);
+    }
+    long chargedAt = velocityLimiter.checkWithdrawal(accountId, ownership.getCurrency());
+    try {
+      return writeTransactionExecutor.execute(
+          () -> withdraw(accountId, amount, type), accountId);
+    } catch (RuntimeException e) {
+      velocityLimiter.refundWithdrawal(accountId, chargedAt);
+      throw e;
     }
-    Account account =
-        accountRepository
-            .getAccountByUser_IdAndId(id, accountId)
-            .orElseThrow(AccountNotFoundException::new);
+  }
+
+  private AccountDTO deposit(Long accountId, long amount, MovementType type) {
+    Account account = loadForUpdate(accountId);
+    account.setAmount(account.getAmount() + amount);
+    accountMovementRepository.save(AccountMovement.of(account, amount, type));
+    cacheInvalidationBus.invalidateAfterCommit(ACCOUNTS_CACHE, String.valueOf(accountId));
+    return AccountDTO.from(account);
+  }
+
+  private AccountDTO withdraw(Long accountId, long amount, MovementType type) {
+    Account account = loadForUpdate(accountId);
     if (account.getAmount() < amount) {
-      throw new InsufficientFundsException(
-          "Cannot withdraw " + amount + " " + account.getAccountCurrency().name());
+      throw new InsufficientFundsException(amount, account.getAccountCurrency());
     }
     account.setAmount(account.getAmount() - amount);
+    accountMovementRepository.save(AccountMovement.of(account, -amount, type));
+    cacheInvalidationBus.invalidateAfterCommit(ACCOUNTS_CACHE, String.valueOf(accountId));
     return AccountDTO.from(account);
   }
+
+  // Ownership was already checked by AccountDirectory. WriteTransactionExecutor has locked the row
+  // in id order with the other accounts of the transaction, so this is served from the persistence
+  // context. The lock is held until commit because the balance is written back as an absolute
+  // value and would otherwise overwrite a concurrent interest credit.
+  private Account loadForUpdate(long accountId) {
+    Account account = entityManager.find(Account.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+    if (account == null) {
+      throw AccountNotFoundException.INSTANCE;
+    }
+    return account;
+  }
 }
@@ -0,0 +1,80 @@
+package com.skypro.simplebanking.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A hashed timing wheel: a task is hashed into the bucket of its deadline tick together with the
+ * number of full rotations it still has to wait, so scheduling and expiring a task are O(1).
+ * {@link #schedule} may be called from any thread; {@link #advance} must only be called from a
+ * single ticking thread, which is the only one touching the buckets.
+ */
+class HashedTimingWheel<T> {
+  private final long tickMillis;
+  private final long startMillis;
+  private final int mask;
+  private final List<ArrayDeque<Timeout<T>>> buckets;
+  private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+  private long tick;
+
+  HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("Wheel size must be a power of two");
+    }
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+    this.mask = wheelSize - 1;
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayDeque<>());
+    }
+  }
+
+  void schedule(T task, long deadlineMillis) {
+    pending.add(new Timeout<>(task, deadlineMillis));
+  }
+
+  List<T> advance(long nowMillis) {
+    List<T> expired = new ArrayList<>();
+    long targetTick = (nowMillis - startMillis) / tickMillis;
+    while (tick <= targetTick) {
+      transferPending();
+      Iterator<Timeout<T>> iterator = buckets.get((int) (tick & mask)).iterator();
+      while (iterator.hasNext()) {
+        Timeout<T> timeout = iterator.next();
+        if (timeout.remainingRounds <= 0) {
+          expired.add(timeout.task);
+          iterator.remove();
+        } else {
+          timeout.remainingRounds--;
+        }
+      }
+      tick++;
+    }
+    return expired;
+  }
+
+  private void transferPending() {
+    Timeout<T> timeout;
+    while ((timeout = pending.poll()) != null) {
+      long deadlineTick = Math.max((timeout.deadlineMillis - startMillis) / tickMillis, tick);
+      timeout.remainingRounds = (deadlineTick - tick) / buckets.size();
+      buckets.get((int) (deadlineTick & mask)).add(timeout);
+    }
+  }
+
+  private static class Timeout<T> {
+    private final T task;
+    private final long deadlineMillis;
+    private long remainingRounds;
+
+    private Timeout(T task, long deadlineMillis) {
+      this.task = task;
+      this.deadlineMillis = deadlineMillis;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.cache.CacheInvalidationBus;
+import com.skypro.simplebanking.configuration.InterestAccrualProperties;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.InterestAccrualPartition;
+import com.skypro.simplebanking.repository.AccountRepository;
+import com.skypro.simplebanking.repository.InterestAccrualPartitionRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Credits daily interest to all accounts. The id space of {@code accounts} is split into
+ * partitions that are processed in parallel; each partition is updated in id-range chunks with
+ * set-based UPDATEs that also journal the credited interest, and the chunk checkpoint is advanced
+ * in the same transaction. Dates left incomplete by a crash are resumed after the last committed
+ * chunk at startup and before the next date is started. Runs are executed one at a time on a
+ * dedicated thread.
+ */
+@Service
+public class InterestAccrualService {
+  private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+  private static final long MAX_PAUSE_MILLIS = 5000;
+  private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+  private final AccountRepository accountRepository;
+  private final InterestAccrualPartitionRepository partitionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final InterestAccrualProperties properties;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final ExecutorService runner =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public InterestAccrualService(
+      AccountRepository accountRepository,
+      InterestAccrualPartitionRepository partitionRepository,
+      PlatformTransactionManager transactionManager,
+      InterestAccrualProperties properties,
+      CacheInvalidationBus cacheInvalidationBus) {
+    this.accountRepository = accountRepository;
+    this.partitionRepository = partitionRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+  }
+
+  // A run takes hours, so it is handed to the accrual thread instead of holding the scheduler's
+  // only thread, which the reconciliation and velocity eviction jobs also need.
+  @Scheduled(cron = "${app.interest.cron}")
+  public void accrueDailyInterest() {
+    LocalDate today = LocalDate.now();
+    submit(
+        () -> {
+          resumeIncompleteAccruals();
+          accrueInterest(today);
+        });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeAfterRestart() {
+    submit(this::resumeIncompleteAccruals);
+  }
+
+  @PreDestroy
+  public void stop() {
+    runner.shutdownNow();
+  }
+
+  private void submit(Runnable run) {
+    runner.execute(
+        () -> {
+          try {
+            run.run();
+          } catch (RuntimeException e) {
+            log.error("Interest accrual failed, it will resume on next run", e);
+          }
+        });
+  }
+
+  public void resumeIncompleteAccruals() {
+    for (LocalDate accrualDate : partitionRepository.findIncompleteAccrualDates()) {
+      log.info("Resuming interest accrual for {}", accrualDate);
+      accrueInterest(accrualDate);
+    }
+  }
+
+  public void accrueInterest(LocalDate accrualDate) {
+    List<InterestAccrualPartition> partitions =
+        transactionTemplate.execute(status -> preparePartitions(accrualDate));
+    if (partitions == null || partitions.isEmpty()) {
+      log.info("Interest for {} is already accrued", accrualDate);
+      return;
+    }
+    log.info("Accruing interest for {} in {} partitions", accrualDate, partitions.size());
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(properties.getPartitions(), partitions.size()));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (InterestAccrualPartition partition : partitions) {
+        futures.add(executor.submit(() -> processPartition(partition)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      log.info("Interest for {} accrued", accrualDate);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      log.error("Interest accrual for {} failed, it will resume on next run", accrualDate, e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  List<InterestAccrualPartition> preparePartitions(LocalDate accrualDate) {
+    if (partitionRepository.existsByAccrualDate(accrualDate)) {
+      return partitionRepository.findByAccrualDateAndCompletedFalse(accrualDate);
+    }
+    Long minId = accountRepository.findMinId();
+    Long maxId = accountRepository.findMaxId();
+    if (minId == null) {
+      return Collections.emptyList();
+    }
+    long start = minId - 1;
+    long partitionSize =
+        Math.max(1, (maxId - start + properties.getPartitions() - 1) / properties.getPartitions());
+    List<InterestAccrualPartition> partitions = new ArrayList<>();
+    while (start < maxId) {
+      InterestAccrualPartition partition = new InterestAccrualPartition();
+      partition.setAccrualDate(accrualDate);
+      partition.setRangeStart(start);
+      partition.setRangeEnd(Math.min(start + partitionSize, maxId));
+      partition.setLastProcessedId(start);
+      partitions.add(partition);
+      start = partition.getRangeEnd();
+    }
+    return partitionRepository.saveAll(partitions);
+  }
+
+  private void processPartition(InterestAccrualPartition partition) {
+    long fromId = partition.getLastProcessedId();
+    long pauseMillis = properties.getChunkPauseMillis();
+    while (fromId < partition.getRangeEnd()) {
+      long chunkFrom = fromId;
+      long chunkTo = Math.min(fromId + properties.getChunkSize(), partition.getRangeEnd());
+      long started = System.nanoTime();
+      Boolean advanced = accrueChunkWithRetry(partition, chunkFrom, chunkTo);
+      if (!Boolean.TRUE.equals(advanced)) {
+        log.warn("Partition {} was advanced by another worker, skipping", partition.getId());
+        return;
+      }
+      fromId = chunkTo;
+      pauseMillis =
+          throttle(pauseMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+      try {
+        Thread.sleep(pauseMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  // Online writes lock the same rows, so a chunk can lose a deadlock or lock timeout against them.
+  Boolean accrueChunkWithRetry(InterestAccrualPartition partition, long fromId, long toId) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> accrueChunk(partition, fromId, toId));
+      } catch (ConcurrencyFailureException e) {
+        if (attempt >= MAX_CHUNK_ATTEMPTS) {
+          throw e;
+        }
+        log.warn("Interest chunk ({}, {}] conflicted with online writes, retrying", fromId, toId);
+      }
+    }
+  }
+
+  private boolean accrueChunk(InterestAccrualPartition partition, long fromId, long toId) {
+    int advanced =
+        partitionRepository.advanceCheckpoint(
+            partition.getId(), fromId, toId, toId == partition.getRangeEnd());
+    if (advanced == 0) {
+      return false;
+    }
+    for (Map.Entry<AccountCurrency, Integer> rate :
+        properties.getAnnualRateBasisPoints().entrySet()) {
+      if (rate.getValue() > 0) {
+        accountRepository.accrueDailyInterest(
+            rate.getKey().ordinal(), rate.getValue(), fromId, toId);
+      }
+    }
+    cacheInvalidationBus.invalidateAfterCommit(
+        AccountService.ACCOUNTS_CACHE, CacheInvalidationBus.ALL_KEYS);
+    return true;
+  }
+
+  // Slow chunks mean the database is busy serving online traffic, so back off until they are fast
+  // again.
+  private long throttle(long pauseMillis, long chunkMillis) {
+    if (chunkMillis > properties.getMaxChunkMillis()) {
+      return Math.min(Math.max(pauseMillis * 2, 1), MAX_PAUSE_MILLIS);
+    }
+    return Math.max(pauseMillis / 2, properties.getChunkPauseMillis());
+  }
+}
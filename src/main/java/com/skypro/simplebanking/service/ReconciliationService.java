@@ -0,0 +1,307 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.configuration.ReconciliationProperties;
+import com.skypro.simplebanking.dto.AccountDiscrepancyDTO;
+import com.skypro.simplebanking.dto.CurrencyTotalDTO;
+import com.skypro.simplebanking.dto.ReconciliationReportDTO;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.ReconciliationCheckpoint;
+import com.skypro.simplebanking.repository.AccountBalance;
+import com.skypro.simplebanking.repository.AccountDiscrepancyRepository;
+import com.skypro.simplebanking.repository.AccountMovementRepository;
+import com.skypro.simplebanking.repository.AccountRepository;
+import com.skypro.simplebanking.repository.CurrencyTotal;
+import com.skypro.simplebanking.repository.ReconciliationCheckpointRepository;
+import com.skypro.simplebanking.repository.UserDiscrepancy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks every account balance against the sum of its journaled movements. A full run scans the
+ * accounts table in id-range chunks; later runs only rescan accounts that got new movements since
+ * the stored checkpoint, in parallel time slices, plus the accounts already recorded as wrong.
+ * Discrepancies are kept in {@code account_discrepancies} until a rescan finds the account
+ * balanced, and reports are built from that table, so memory stays bounded by the report size
+ * rather than the number of accounts. Every node runs the schedule, but only the one holding the
+ * lease on the checkpoint row reconciles.
+ */
+@Service
+public class ReconciliationService {
+  private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+  private static final long CHECKPOINT_ID = 1L;
+
+  private final AccountRepository accountRepository;
+  private final AccountMovementRepository accountMovementRepository;
+  private final ReconciliationCheckpointRepository checkpointRepository;
+  private final AccountDiscrepancyRepository discrepancyRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate snapshotTransactionTemplate;
+  private final ReconciliationProperties properties;
+  private volatile ReconciliationReportDTO lastReport;
+
+  public ReconciliationService(
+      AccountRepository accountRepository,
+      AccountMovementRepository accountMovementRepository,
+      ReconciliationCheckpointRepository checkpointRepository,
+      AccountDiscrepancyRepository discrepancyRepository,
+      PlatformTransactionManager transactionManager,
+      ReconciliationProperties properties) {
+    this.accountRepository = accountRepository;
+    this.accountMovementRepository = accountMovementRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.discrepancyRepository = discrepancyRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.snapshotTransactionTemplate.setReadOnly(true);
+    this.snapshotTransactionTemplate.setIsolationLevel(
+        TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.properties = properties;
+  }
+
+  @Scheduled(cron = "${app.reconciliation.cron}")
+  public void reconcileEndOfDay() {
+    reconcile(false);
+  }
+
+  public Optional<ReconciliationReportDTO> getLastReport() {
+    return Optional.ofNullable(lastReport);
+  }
+
+  /**
+   * Runs a reconciliation unless one is already running on any node, in which case nothing is
+   * done and an empty result is returned. Runs are coordinated through a lease on the checkpoint
+   * row, which is only advanced by the run holding it.
+   */
+  public Optional<ReconciliationReportDTO> reconcile(boolean full) {
+    String owner = UUID.randomUUID().toString();
+    if (!acquireLease(owner)) {
+      log.info("Reconciliation is already running on another node, skipping");
+      return Optional.empty();
+    }
+    boolean completed = false;
+    try {
+      ReconciliationReportDTO report = reconcile(full, owner);
+      completed = true;
+      return Optional.of(report);
+    } finally {
+      if (!completed) {
+        transactionTemplate.executeWithoutResult(
+            status -> checkpointRepository.releaseLease(CHECKPOINT_ID, owner));
+      }
+    }
+  }
+
+  private boolean acquireLease(String owner) {
+    Instant now = Instant.now();
+    Integer acquired =
+        transactionTemplate.execute(
+            status -> {
+              checkpointRepository.insertIfMissing(CHECKPOINT_ID);
+              return checkpointRepository.acquireLease(
+                  CHECKPOINT_ID, owner, now.plusSeconds(properties.getLeaseSeconds()), now);
+            });
+    return acquired != null && acquired > 0;
+  }
+
+  private ReconciliationReportDTO reconcile(boolean full, String owner) {
+    long started = System.nanoTime();
+    // Stored with millisecond precision so that rows written by this run compare equal to it.
+    Instant checkedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    Optional<Instant> previousSettledUntil =
+        full
+            ? Optional.empty()
+            : checkpointRepository
+                .findById(CHECKPOINT_ID)
+                .map(ReconciliationCheckpoint::getSettledUntil);
+    // Movement ids come from a pooled sequence and are not ordered by commit time across nodes, so
+    // the checkpoint is a point in time. It only covers movements old enough to have committed,
+    // and the most recent ones are rescanned on the next run.
+    Instant settledUntil = checkedAt.minusSeconds(properties.getSettleSeconds());
+    List<long[]> ranges;
+    Function<long[], List<AccountBalance>> scan;
+    if (previousSettledUntil.isPresent()) {
+      // An account moved in several slices is scanned more than once; storing it is idempotent.
+      ranges =
+          splitEvenly(
+              previousSettledUntil.get().toEpochMilli(),
+              checkedAt.toEpochMilli(),
+              properties.getParallelism());
+      scan =
+          range ->
+              accountMovementRepository.findMismatchedBalancesMovedBetween(
+                  Instant.ofEpochMilli(range[0]), Instant.ofEpochMilli(range[1]));
+    } else {
+      Long minAccountId = accountRepository.findMinId();
+      Long maxAccountId = accountRepository.findMaxId();
+      ranges =
+          minAccountId == null ? Collections.emptyList() : split(minAccountId - 1, maxAccountId);
+      scan =
+          range ->
+              accountMovementRepository.findMismatchedBalancesByAccountIdRange(range[0], range[1]);
+    }
+
+    scanInParallel(ranges, range -> storeDiscrepancies(scan.apply(range), checkedAt));
+    if (previousSettledUntil.isPresent()) {
+      // Accounts found wrong earlier but without new movements were not rescanned above, and they
+      // must stay reported until a rescan finds them balanced.
+      storeDiscrepancies(
+          accountMovementRepository.findMismatchedBalancesOfDiscrepanciesCheckedBefore(checkedAt),
+          checkedAt);
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> discrepancyRepository.deleteByCheckedAtBefore(checkedAt));
+    List<CurrencyTotalDTO> currencyTotals =
+        snapshotTransactionTemplate.execute(status -> currencyTotals());
+
+    Instant newSettledUntil =
+        previousSettledUntil
+            .filter(previous -> previous.isAfter(settledUntil))
+            .orElse(settledUntil);
+    Instant completedAt = Instant.now();
+    Integer advanced =
+        transactionTemplate.execute(
+            status ->
+                checkpointRepository.complete(CHECKPOINT_ID, owner, newSettledUntil, completedAt));
+    if (advanced == null || advanced == 0) {
+      log.warn("Reconciliation lease expired before the run completed, checkpoint not advanced");
+    }
+
+    ReconciliationReportDTO report =
+        new ReconciliationReportDTO(
+            completedAt,
+            previousSettledUntil.isPresent(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+            currencyTotals,
+            discrepancyRepository.count(),
+            discrepancyRepository
+                .findByOrderByAccountId(PageRequest.of(0, properties.getMaxReportedDiscrepancies()))
+                .stream()
+                .map(AccountDiscrepancyDTO::from)
+                .collect(Collectors.toList()),
+            discrepancyByUser());
+    lastReport = report;
+    if (report.getDiscrepancyCount() > 0
+        || currencyTotals.stream().anyMatch(total -> !total.isBalanced())) {
+      log.warn(
+          "Reconciliation found {} account discrepancies, currency totals {}",
+          report.getDiscrepancyCount(),
+          currencyTotals.stream().filter(total -> !total.isBalanced()).count());
+    } else {
+      log.info("Reconciliation completed in {} ms", report.getDurationMillis());
+    }
+    return report;
+  }
+
+  private void storeDiscrepancies(List<AccountBalance> balances, Instant checkedAt) {
+    if (balances.isEmpty()) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          for (AccountBalance balance : balances) {
+            discrepancyRepository.upsert(
+                balance.getAccountId(),
+                balance.getUserId(),
+                balance.getAccountCurrency(),
+                balance.getAmount(),
+                balance.getExpectedAmount(),
+                checkedAt);
+          }
+        });
+  }
+
+  private Map<Long, Long> discrepancyByUser() {
+    Map<Long, Long> result = new TreeMap<>();
+    for (UserDiscrepancy discrepancy : discrepancyRepository.sumDifferenceByUser()) {
+      result.put(discrepancy.getUserId(), discrepancy.getDifference());
+    }
+    return result;
+  }
+
+  private List<long[]> split(long fromExclusive, long toInclusive) {
+    List<long[]> ranges = new ArrayList<>();
+    for (long from = fromExclusive; from < toInclusive; from += properties.getChunkSize()) {
+      ranges.add(new long[] {from, Math.min(from + properties.getChunkSize(), toInclusive)});
+    }
+    return ranges;
+  }
+
+  private static List<long[]> splitEvenly(long from, long to, int parts) {
+    List<long[]> ranges = new ArrayList<>();
+    long step = Math.max(1, (to - from + parts - 1) / parts);
+    for (long start = from; start < to; start += step) {
+      ranges.add(new long[] {start, Math.min(start + step, to)});
+    }
+    return ranges;
+  }
+
+  private void scanInParallel(List<long[]> ranges, Consumer<long[]> task) {
+    if (ranges.isEmpty()) {
+      return;
+    }
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(properties.getParallelism(), ranges.size()));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (long[] range : ranges) {
+        futures.add(executor.submit(() -> task.accept(range)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Reconciliation was interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Reconciliation failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<CurrencyTotalDTO> currencyTotals() {
+    Map<AccountCurrency, Long> amounts = toMap(accountRepository.sumByCurrency());
+    Map<AccountCurrency, Long> expectedAmounts = toMap(accountMovementRepository.sumByCurrency());
+    List<CurrencyTotalDTO> totals = new ArrayList<>();
+    for (AccountCurrency currency : AccountCurrency.values()) {
+      totals.add(
+          new CurrencyTotalDTO(
+              currency,
+              amounts.getOrDefault(currency, 0L),
+              expectedAmounts.getOrDefault(currency, 0L)));
+    }
+    return totals;
+  }
+
+  private static Map<AccountCurrency, Long> toMap(List<CurrencyTotal> totals) {
+    Map<AccountCurrency, Long> map = new EnumMap<>(AccountCurrency.class);
+    for (CurrencyTotal total : totals) {
+      map.put(total.getAccountCurrency(), total.getAmount());
+    }
+    return map;
+  }
+}
@@ -0,0 +1,308 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.configuration.ScheduledTransferProperties;
+import com.skypro.simplebanking.dto.CreateScheduledTransferRequest;
+import com.skypro.simplebanking.dto.ScheduledTransferDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.entity.ScheduledTransfer;
+import com.skypro.simplebanking.exception.BankingException;
+import com.skypro.simplebanking.exception.InvalidScheduleException;
+import com.skypro.simplebanking.exception.ScheduledTransferNotFoundException;
+import com.skypro.simplebanking.exception.VelocityLimitExceededException;
+import com.skypro.simplebanking.repository.ScheduledTransferRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executes future-dated and recurring transfers. Schedules due within the lookahead window are
+ * leased by this node and loaded into a {@link HashedTimingWheel}; when they fire they are passed
+ * in batches to a bounded executor. Advancing the schedule and the transfer itself share one
+ * transaction that only commits while the lease is still held, so a schedule is executed once
+ * even when several nodes run, and overdue schedules are caught up after a restart once their
+ * leases expire. Windows are loaded by a thread of their own rather than the shared task
+ * scheduler, whose single thread also runs the long reconciliation job. A transfer
+ * rejected by the velocity limits is not a permanent failure: it is postponed by the retry delay,
+ * and a recurring one then continues from the occurrence it was postponed from, so its cadence
+ * does not drift.
+ */
+@Service
+public class ScheduledTransferService {
+  private static final Logger log = LoggerFactory.getLogger(ScheduledTransferService.class);
+
+  private final ScheduledTransferRepository scheduledTransferRepository;
+  private final TransferService transferService;
+  private final AccountService accountService;
+  private final AccountDirectory accountDirectory;
+  private final TransactionTemplate transactionTemplate;
+  private final ScheduledTransferProperties properties;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final HashedTimingWheel<ScheduledTransfer> wheel;
+  private ThreadPoolExecutor executor;
+  private Thread ticker;
+  private Thread loader;
+  private volatile boolean running;
+
+  public ScheduledTransferService(
+      ScheduledTransferRepository scheduledTransferRepository,
+      TransferService transferService,
+      AccountService accountService,
+      AccountDirectory accountDirectory,
+      PlatformTransactionManager transactionManager,
+      ScheduledTransferProperties properties) {
+    this.scheduledTransferRepository = scheduledTransferRepository;
+    this.transferService = transferService;
+    this.accountService = accountService;
+    this.accountDirectory = accountDirectory;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.wheel =
+        new HashedTimingWheel<>(
+            properties.getTickMillis(), properties.getWheelSize(), System.currentTimeMillis());
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    running = true;
+    executor =
+        new ThreadPoolExecutor(
+            properties.getParallelism(),
+            properties.getParallelism(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    ticker = new Thread(this::tick, "scheduled-transfer-ticker");
+    ticker.setDaemon(true);
+    ticker.start();
+    loader = new Thread(this::load, "scheduled-transfer-loader");
+    loader.setDaemon(true);
+    loader.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (ticker != null) {
+      ticker.interrupt();
+      loader.interrupt();
+      executor.shutdown();
+    }
+  }
+
+  private void load() {
+    while (running) {
+      try {
+        loadUpcoming();
+      } catch (RuntimeException e) {
+        log.error("Loading upcoming scheduled transfers failed", e);
+      }
+      try {
+        Thread.sleep(properties.getLoadIntervalMillis());
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  void loadUpcoming() {
+    Instant now = Instant.now();
+    Instant windowEnd = now.plusSeconds(properties.getLookaheadSeconds());
+    Instant leaseUntil = windowEnd.plusSeconds(properties.getLeaseGraceSeconds());
+    int leased;
+    do {
+      String token = UUID.randomUUID().toString();
+      List<ScheduledTransfer> page =
+          transactionTemplate.execute(
+              status -> {
+                scheduledTransferRepository.lease(
+                    nodeId, token, leaseUntil, now, windowEnd, properties.getPageSize());
+                return scheduledTransferRepository.findByLeaseToken(token);
+              });
+      leased = page.size();
+      page.forEach(this::scheduleInWheel);
+    } while (leased == properties.getPageSize());
+  }
+
+  public ScheduledTransferDTO createScheduledTransfer(
+      long userId, CreateScheduledTransferRequest request) {
+    if (request.getExecuteAt() == null
+        || (request.getIntervalSeconds() != null && request.getIntervalSeconds() <= 0)) {
+      throw InvalidScheduleException.INSTANCE;
+    }
+    accountService.validateCurrency(request.getFromAccountId(), request.getToAccountId());
+    accountService.validateAmount(request.getAmount());
+    accountDirectory.getOwnedAccount(userId, request.getFromAccountId());
+    accountDirectory.getOwnedAccount(request.getToUserId(), request.getToAccountId());
+
+    ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+    scheduledTransfer.setUserId(userId);
+    scheduledTransfer.setFromAccountId(request.getFromAccountId());
+    scheduledTransfer.setToUserId(request.getToUserId());
+    scheduledTransfer.setToAccountId(request.getToAccountId());
+    scheduledTransfer.setAmount(request.getAmount());
+    scheduledTransfer.setNextExecutionAt(request.getExecuteAt());
+    scheduledTransfer.setIntervalSeconds(request.getIntervalSeconds());
+    scheduledTransfer.setActive(true);
+    Instant windowEnd = Instant.now().plusSeconds(properties.getLookaheadSeconds());
+    boolean dueSoon = running && request.getExecuteAt().isBefore(windowEnd);
+    if (dueSoon) {
+      // The next window load may come too late, so lease it right away.
+      scheduledTransfer.setLeaseOwner(nodeId);
+      scheduledTransfer.setLeaseToken(UUID.randomUUID().toString());
+      scheduledTransfer.setLeaseUntil(windowEnd.plusSeconds(properties.getLeaseGraceSeconds()));
+    }
+    return transactionTemplate.execute(
+        status -> {
+          ScheduledTransfer saved = scheduledTransferRepository.save(scheduledTransfer);
+          if (dueSoon) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                  @Override
+                  public void afterCommit() {
+                    scheduleInWheel(saved);
+                  }
+                });
+          }
+          return ScheduledTransferDTO.from(saved);
+        });
+  }
+
+  public List<ScheduledTransferDTO> listScheduledTransfers(long userId) {
+    return scheduledTransferRepository
+        .findByUserIdAndActiveTrueOrderByNextExecutionAt(userId)
+        .stream()
+        .map(ScheduledTransferDTO::from)
+        .collect(Collectors.toList());
+  }
+
+  public void cancelScheduledTransfer(long userId, long id) {
+    Integer cancelled =
+        transactionTemplate.execute(status -> scheduledTransferRepository.cancel(id, userId));
+    if (cancelled == null || cancelled == 0) {
+      throw ScheduledTransferNotFoundException.INSTANCE;
+    }
+  }
+
+  private void scheduleInWheel(ScheduledTransfer scheduledTransfer) {
+    wheel.schedule(scheduledTransfer, scheduledTransfer.getNextExecutionAt().toEpochMilli());
+  }
+
+  private void tick() {
+    while (running) {
+      try {
+        Thread.sleep(properties.getTickMillis());
+      } catch (InterruptedException e) {
+        return;
+      }
+      List<ScheduledTransfer> due = wheel.advance(System.currentTimeMillis());
+      for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+        List<ScheduledTransfer> batch =
+            due.subList(from, Math.min(from + properties.getBatchSize(), due.size()));
+        executor.execute(() -> batch.forEach(this::execute));
+      }
+    }
+  }
+
+  private void execute(ScheduledTransfer scheduledTransfer) {
+    boolean recurring = scheduledTransfer.getIntervalSeconds() != null;
+    // A retried occurrence keeps the cadence of the one it was postponed from.
+    Instant occurrence =
+        scheduledTransfer.getPostponedFrom() != null
+            ? scheduledTransfer.getPostponedFrom()
+            : scheduledTransfer.getNextExecutionAt();
+    Instant nextExecutionAt =
+        recurring ? occurrence.plusSeconds(scheduledTransfer.getIntervalSeconds()) : occurrence;
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (complete(scheduledTransfer, nextExecutionAt, null, recurring, null)) {
+              transferService.transfer(
+                  scheduledTransfer.getUserId(), toTransferRequest(scheduledTransfer));
+            }
+          });
+    } catch (VelocityLimitExceededException e) {
+      // Same occurrence again later; the limit window will have moved on by then.
+      Instant retryAt = Instant.now().plusSeconds(properties.getRetryDelaySeconds());
+      transactionTemplate.executeWithoutResult(
+          status ->
+              complete(
+                  scheduledTransfer, retryAt, occurrence, true, e.getClass().getSimpleName()));
+    } catch (BankingException e) {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              complete(
+                  scheduledTransfer,
+                  nextExecutionAt,
+                  null,
+                  recurring,
+                  e.getClass().getSimpleName()));
+    } catch (RuntimeException e) {
+      log.error("Scheduled transfer {} failed, it will be retried", scheduledTransfer.getId(), e);
+    }
+  }
+
+  // Fails when the lease was lost to another node or the schedule was cancelled meanwhile. A next
+  // run that is already inside the lookahead window stays leased by this node and goes straight
+  // back onto the wheel once the transaction commits, instead of waiting for the next load.
+  private boolean complete(
+      ScheduledTransfer scheduledTransfer,
+      Instant nextExecutionAt,
+      Instant postponedFrom,
+      boolean active,
+      String lastError) {
+    Instant windowEnd = Instant.now().plusSeconds(properties.getLookaheadSeconds());
+    boolean keepLease = running && active && nextExecutionAt.isBefore(windowEnd);
+    String nextToken = keepLease ? UUID.randomUUID().toString() : null;
+    boolean completed =
+        scheduledTransferRepository.complete(
+                scheduledTransfer.getId(),
+                scheduledTransfer.getLeaseToken(),
+                nextExecutionAt,
+                postponedFrom,
+                active,
+                lastError,
+                keepLease ? nodeId : null,
+                nextToken,
+                keepLease ? windowEnd.plusSeconds(properties.getLeaseGraceSeconds()) : null)
+            > 0;
+    if (completed && keepLease) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              scheduledTransfer.setNextExecutionAt(nextExecutionAt);
+              scheduledTransfer.setPostponedFrom(postponedFrom);
+              scheduledTransfer.setLeaseToken(nextToken);
+              scheduleInWheel(scheduledTransfer);
+            }
+          });
+    }
+    return completed;
+  }
+
+  private static TransferRequest toTransferRequest(ScheduledTransfer scheduledTransfer) {
+    TransferRequest transferRequest = new TransferRequest();
+    transferRequest.setFromAccountId(scheduledTransfer.getFromAccountId());
+    transferRequest.setToUserId(scheduledTransfer.getToUserId());
+    transferRequest.setToAccountId(scheduledTransfer.getToAccountId());
+    transferRequest.setAmount(scheduledTransfer.getAmount());
+    return transferRequest;
+  }
+}
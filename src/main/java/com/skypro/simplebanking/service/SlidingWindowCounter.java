@@ -0,0 +1,55 @@
+package com.skypro.simplebanking.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sums values over a sliding window kept as a ring of fixed-width buckets. Each bucket stores the
+ * epoch (time divided by the bucket width) it was last reset for, so stale buckets are skipped on
+ * read and recycled on write without locks. An add racing with the rollover of its bucket may be
+ * lost, which is acceptable for abuse limits.
+ */
+class SlidingWindowCounter {
+  private final long bucketMillis;
+  private final int bucketCount;
+  private final AtomicLongArray epochs;
+  private final AtomicLongArray values;
+  private volatile long lastUpdateMillis;
+
+  SlidingWindowCounter(long windowMillis, int bucketCount) {
+    this.bucketMillis = windowMillis / bucketCount;
+    this.bucketCount = bucketCount;
+    this.epochs = new AtomicLongArray(bucketCount);
+    this.values = new AtomicLongArray(bucketCount);
+  }
+
+  long sum(long nowMillis) {
+    long oldestEpoch = nowMillis / bucketMillis - bucketCount;
+    long sum = 0;
+    for (int i = 0; i < bucketCount; i++) {
+      if (epochs.get(i) > oldestEpoch) {
+        sum += values.get(i);
+      }
+    }
+    return sum;
+  }
+
+  void add(long atMillis, long value) {
+    long epoch = atMillis / bucketMillis;
+    int index = (int) (epoch % bucketCount);
+    long bucketEpoch = epochs.get(index);
+    if (bucketEpoch > epoch) {
+      return;
+    }
+    if (bucketEpoch < epoch && epochs.compareAndSet(index, bucketEpoch, epoch)) {
+      values.set(index, 0);
+    }
+    values.addAndGet(index, value);
+    if (atMillis > lastUpdateMillis) {
+      lastUpdateMillis = atMillis;
+    }
+  }
+
+  long getLastUpdateMillis() {
+    return lastUpdateMillis;
+  }
+}
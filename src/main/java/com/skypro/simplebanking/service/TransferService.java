@@ -1,27 +1,60 @@
 package com.skypro.simplebanking.service;
 
+import com.skypro.simplebanking.dto.AccountOwnership;
 import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.entity.MovementType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @Service
 public class TransferService {
   private final AccountService accountService;
+  private final AccountDirectory accountDirectory;
+  private final WriteTransactionExecutor writeTransactionExecutor;
+  private final VelocityLimiter velocityLimiter;
 
-  public TransferService(AccountService accountService) {
+  public TransferService(
+      AccountService accountService,
+      AccountDirectory accountDirectory,
+      WriteTransactionExecutor writeTransactionExecutor,
+      VelocityLimiter velocityLimiter) {
     this.accountService = accountService;
+    this.accountDirectory = accountDirectory;
+    this.writeTransactionExecutor = writeTransactionExecutor;
+    this.velocityLimiter = velocityLimiter;
   }
 
-  @Transactional
   public void transfer(long id, @RequestBody TransferRequest transferRequest) {
     accountService.validateCurrency(
         transferRequest.getFromAccountId(), transferRequest.getToAccountId());
-    accountService.withdrawFromAccount(
-        id, transferRequest.getFromAccountId(), transferRequest.getAmount());
-    accountService.depositToAccount(
-        transferRequest.getToUserId(),
-        transferRequest.getToAccountId(),
-        transferRequest.getAmount());
+    accountService.validateAmount(transferRequest.getAmount());
+    AccountOwnership source =
+        accountDirectory.getOwnedAccount(id, transferRequest.getFromAccountId());
+    accountDirectory.getOwnedAccount(
+        transferRequest.getToUserId(), transferRequest.getToAccountId());
+    long chargedAt =
+        velocityLimiter.checkTransfer(id, source.getCurrency(), transferRequest.getAmount());
+    try {
+      writeTransactionExecutor.execute(
+          () -> {
+            accountService.withdrawFromAccount(
+                id,
+                transferRequest.getFromAccountId(),
+                transferRequest.getAmount(),
+                MovementType.TRANSFER_OUT);
+            accountService.depositToAccount(
+                transferRequest.getToUserId(),
+                transferRequest.getToAccountId(),
+                transferRequest.getAmount(),
+                MovementType.TRANSFER_IN);
+            return null;
+          },
+          transferRequest.getFromAccountId(),
+          transferRequest.getToAccountId());
+    } catch (RuntimeException e) {
+      velocityLimiter.refundTransfer(
+          id, source.getCurrency(), transferRequest.getAmount(), chargedAt);
+      throw e;
+    }
   }
 }
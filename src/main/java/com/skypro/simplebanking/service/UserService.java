@@ -1,5 +1,7 @@
 package com.skypro.simplebanking.service;
 
+import com.skypro.simplebanking.cache.CacheInvalidationBus;
+import com.skypro.simplebanking.cache.VersionedCache;
 import com.skypro.simplebanking.dto.BankingUserDetails;
 import com.skypro.simplebanking.dto.ListUserDTO;
 import com.skypro.simplebanking.dto.UserDTO;
@@ -18,39 +20,49 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserService implements UserDetailsService {
+  public static final String USERS_CACHE = "users";
+
   private final UserRepository userRepository;
   private final AccountService accountService;
   private final PasswordEncoder passwordEncoder;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final VersionedCache<UserDetails> userCache;
 
   public UserService(
       UserRepository userRepository,
       AccountService accountService,
-      PasswordEncoder passwordEncoder) {
+      PasswordEncoder passwordEncoder,
+      CacheInvalidationBus cacheInvalidationBus) {
     this.userRepository = userRepository;
     this.accountService = accountService;
     this.passwordEncoder = passwordEncoder;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.userCache = cacheInvalidationBus.createCache(USERS_CACHE);
   }
 
   @Override
-  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    return userRepository
-        .findByUsername(username)
-        .map(BankingUserDetails::from)
-        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    return userCache.get(
+        username,
+        key ->
+            userRepository
+                .findByUsername(key)
+                .map(BankingUserDetails::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
   }
 
   @Transactional
   public UserDTO createUser(String username, String password) {
     Optional<User> existingUser = userRepository.findByUsername(username);
     if (existingUser.isPresent()) {
-      throw new UserAlreadyExistsException();
+      throw UserAlreadyExistsException.INSTANCE;
     }
     User user = new User();
     user.setUsername(username);
     user.setPassword(passwordEncoder.encode(password));
     userRepository.save(user);
     accountService.createDefaultAccounts(user);
+    cacheInvalidationBus.invalidateAfterCommit(USERS_CACHE, username);
     return UserDTO.from(user);
   }
   @Transactional(readOnly = true)
@@ -59,6 +71,8 @@ public class UserService implements UserDetailsService {
   }
   @Transactional(readOnly = true)
   public List<ListUserDTO> listUsers() {
-    return userRepository.findAll().stream().map(ListUserDTO::from).collect(Collectors.toList());
+    return userRepository.findAllWithAccounts().stream()
+        .map(ListUserDTO::from)
+        .collect(Collectors.toList());
   }
 }
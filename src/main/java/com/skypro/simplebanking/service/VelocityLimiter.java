@@ -0,0 +1,242 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.configuration.VelocityLimitProperties;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.MovementType;
+import com.skypro.simplebanking.exception.VelocityLimitExceededException;
+import com.skypro.simplebanking.repository.AccountMovementRepository;
+import com.skypro.simplebanking.repository.MovementEntry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enforces per-currency limits on the number of withdrawals per account per minute and on the
+ * amount transferred per user per hour, using in-memory sliding windows that are rebuilt from the
+ * movement journal at startup. A check charges the window straight away, and concurrent checks
+ * that together overshoot the limit take their charges back, so the limit holds under contention.
+ * Callers refund the charge when the write it was taken for fails; a charge whose transaction
+ * fails to commit after the write is kept, which only makes the limit stricter. At most {@code
+ * app.velocity.max-tracked-keys} windows are kept per limit; when all of them are in use, checks
+ * for new keys are rejected rather than let through unlimited.
+ */
+@Component
+public class VelocityLimiter {
+  private static final Logger log = LoggerFactory.getLogger(VelocityLimiter.class);
+  private static final long WITHDRAWAL_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final long TRANSFER_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+  private static final int BUCKETS = 60;
+  private static final int CURRENCY_COUNT = AccountCurrency.values().length;
+  private static final int REBUILD_PAGE_SIZE = 10000;
+  private static final long MIN_EVICTION_INTERVAL_MILLIS = 1000;
+  /** Returned by the checks when no limit applies, so there is nothing to refund. */
+  public static final long NOT_CHARGED = -1;
+
+  private final VelocityLimitProperties properties;
+  private final AccountMovementRepository accountMovementRepository;
+  private final LongSupplier clock;
+  private final AtomicLong lastEvictionMillis = new AtomicLong();
+  private final ConcurrentMap<Long, SlidingWindowCounter> withdrawalsByAccount =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, SlidingWindowCounter> transfersByUserAndCurrency =
+      new ConcurrentHashMap<>();
+
+  @Autowired
+  public VelocityLimiter(
+      VelocityLimitProperties properties, AccountMovementRepository accountMovementRepository) {
+    this(properties, accountMovementRepository, System::currentTimeMillis);
+  }
+
+  VelocityLimiter(
+      VelocityLimitProperties properties,
+      AccountMovementRepository accountMovementRepository,
+      LongSupplier clock) {
+    this.properties = properties;
+    this.accountMovementRepository = accountMovementRepository;
+    this.clock = clock;
+  }
+
+  /** Returns the time the withdrawal was charged at, to be passed to a refund. */
+  public long checkWithdrawal(long accountId, AccountCurrency currency) {
+    VelocityLimitProperties.Rule rule = properties.getRules().get(currency);
+    if (!properties.isEnabled() || rule == null || rule.getMaxWithdrawalsPerMinute() <= 0) {
+      return NOT_CHARGED;
+    }
+    return acquire(
+        withdrawalsByAccount,
+        accountId,
+        WITHDRAWAL_WINDOW_MILLIS,
+        1,
+        rule.getMaxWithdrawalsPerMinute());
+  }
+
+  /** Returns the time the transfer was charged at, to be passed to a refund. */
+  public long checkTransfer(long userId, AccountCurrency currency, long amount) {
+    VelocityLimitProperties.Rule rule = properties.getRules().get(currency);
+    if (!properties.isEnabled() || rule == null || rule.getMaxTransferredPerHour() <= 0) {
+      return NOT_CHARGED;
+    }
+    return acquire(
+        transfersByUserAndCurrency,
+        userAndCurrencyKey(userId, currency),
+        TRANSFER_WINDOW_MILLIS,
+        amount,
+        rule.getMaxTransferredPerHour());
+  }
+
+  public void refundWithdrawal(long accountId, long chargedAtMillis) {
+    refund(withdrawalsByAccount, accountId, chargedAtMillis, 1);
+  }
+
+  public void refundTransfer(
+      long userId, AccountCurrency currency, long amount, long chargedAtMillis) {
+    refund(
+        transfersByUserAndCurrency,
+        userAndCurrencyKey(userId, currency),
+        chargedAtMillis,
+        amount);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    long now = clock.getAsLong();
+    replay(MovementType.WITHDRAWAL, now - WITHDRAWAL_WINDOW_MILLIS);
+    replay(MovementType.TRANSFER_OUT, now - TRANSFER_WINDOW_MILLIS);
+    log.info(
+        "Velocity limits rebuilt for {} accounts and {} users",
+        withdrawalsByAccount.size(),
+        transfersByUserAndCurrency.size());
+  }
+
+  @Scheduled(fixedDelay = 60000)
+  public void evictIdle() {
+    long now = clock.getAsLong();
+    lastEvictionMillis.set(now);
+    withdrawalsByAccount
+        .values()
+        .removeIf(counter -> counter.getLastUpdateMillis() < now - WITHDRAWAL_WINDOW_MILLIS);
+    transfersByUserAndCurrency
+        .values()
+        .removeIf(counter -> counter.getLastUpdateMillis() < now - TRANSFER_WINDOW_MILLIS);
+  }
+
+  // Pages through the journal by (createdAt, id) so only one page of entries is held at a time.
+  private void replay(MovementType type, long sinceMillis) {
+    Instant createdAfter = Instant.ofEpochMilli(sinceMillis);
+    long idAfter = Long.MAX_VALUE;
+    List<MovementEntry> page;
+    do {
+      page =
+          accountMovementRepository.findEntriesAfter(
+              type, createdAfter, idAfter, PageRequest.of(0, REBUILD_PAGE_SIZE));
+      for (MovementEntry entry : page) {
+        if (type == MovementType.WITHDRAWAL) {
+          record(
+              withdrawalsByAccount,
+              entry.getAccountId(),
+              WITHDRAWAL_WINDOW_MILLIS,
+              entry.getCreatedAt().toEpochMilli(),
+              1);
+        } else {
+          record(
+              transfersByUserAndCurrency,
+              userAndCurrencyKey(entry.getUserId(), entry.getAccountCurrency()),
+              TRANSFER_WINDOW_MILLIS,
+              entry.getCreatedAt().toEpochMilli(),
+              -entry.getAmount());
+        }
+        createdAfter = entry.getCreatedAt();
+        idAfter = entry.getId();
+      }
+    } while (page.size() == REBUILD_PAGE_SIZE);
+  }
+
+  private long acquire(
+      ConcurrentMap<Long, SlidingWindowCounter> counters,
+      long key,
+      long windowMillis,
+      long value,
+      long limit) {
+    long now = clock.getAsLong();
+    SlidingWindowCounter counter = counter(counters, key, windowMillis);
+    if (counter == null) {
+      // Every tracked key is active: refuse rather than stop limiting new keys.
+      throw VelocityLimitExceededException.INSTANCE;
+    }
+    // Charging before checking means that of two racing checks at least one sees the other.
+    counter.add(now, value);
+    if (counter.sum(now) > limit) {
+      counter.add(now, -value);
+      throw VelocityLimitExceededException.INSTANCE;
+    }
+    return now;
+  }
+
+  private void refund(
+      ConcurrentMap<Long, SlidingWindowCounter> counters,
+      long key,
+      long chargedAtMillis,
+      long value) {
+    if (chargedAtMillis == NOT_CHARGED) {
+      return;
+    }
+    SlidingWindowCounter counter = counters.get(key);
+    if (counter != null) {
+      counter.add(chargedAtMillis, -value);
+    }
+  }
+
+  private void record(
+      ConcurrentMap<Long, SlidingWindowCounter> counters,
+      long key,
+      long windowMillis,
+      long atMillis,
+      long value) {
+    SlidingWindowCounter counter = counter(counters, key, windowMillis);
+    if (counter != null) {
+      counter.add(atMillis, value);
+    }
+  }
+
+  // Returns null once too many keys are tracked and none of them is idle, so memory stays bounded
+  // under a flood of keys. Idle counters are evicted on the spot, at most once a second, instead
+  // of waiting for the scheduled eviction, which may be held up behind other scheduled jobs.
+  private SlidingWindowCounter counter(
+      ConcurrentMap<Long, SlidingWindowCounter> counters, long key, long windowMillis) {
+    SlidingWindowCounter counter = counters.get(key);
+    if (counter == null) {
+      if (counters.size() >= properties.getMaxTrackedKeys()) {
+        long lastEviction = lastEvictionMillis.get();
+        long now = clock.getAsLong();
+        if (now - lastEviction >= MIN_EVICTION_INTERVAL_MILLIS
+            && lastEvictionMillis.compareAndSet(lastEviction, now)) {
+          evictIdle();
+        }
+        if (counters.size() >= properties.getMaxTrackedKeys()) {
+          return null;
+        }
+      }
+      counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter(windowMillis, BUCKETS));
+    }
+    return counter;
+  }
+
+  private static long userAndCurrencyKey(long userId, AccountCurrency currency) {
+    return userId * CURRENCY_COUNT + currency.ordinal();
+  }
+}
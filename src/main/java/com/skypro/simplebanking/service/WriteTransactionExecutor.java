@@ -0,0 +1,307 @@
+package com.skypro.simplebanking.service;
+
+import com.skypro.simplebanking.entity.Account;
+import com.skypro.simplebanking.exception.BankingException;
+import com.skypro.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs balance changes in a write transaction. With {@code app.group-commit.enabled} concurrent
+ * writes are queued and applied in order inside one shared transaction, so a batch costs a single
+ * commit; each caller returns once that commit is done.
+ *
+ * <p>Writes must throw their {@link BankingException} before changing any state, which the
+ * pre-transaction checks in {@link AccountService} and {@link TransferService} guarantee, so a
+ * rejected write is simply left out of the batch. If the shared transaction fails for any other
+ * reason, every write of the batch is retried in its own transaction. A write that is still queued
+ * after {@code app.group-commit.max-queue-wait-millis}, or when the worker stops or dies, is
+ * committed in its own transaction, so a caller never waits on a worker that is gone.
+ *
+ * <p>Every write names the accounts it changes, and they are locked in id order before any write
+ * runs: a batch locks all of its accounts with one query, a single write locks its own one by one.
+ * Interest accrual locks in id order too, so writes never deadlock with each other, with the
+ * accrual, or with batches of other nodes. The lookups of the writes are then served from the
+ * persistence context.
+ */
+@Component
+public class WriteTransactionExecutor {
+  private static final Logger log = LoggerFactory.getLogger(WriteTransactionExecutor.class);
+
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final AccountRepository accountRepository;
+  private final boolean groupCommitEnabled;
+  private final int maxBatchSize;
+  private final long maxWaitNanos;
+  private final long maxQueueWaitNanos;
+  private final BlockingQueue<PendingWrite<?>> queue;
+  private volatile boolean running;
+  private Thread worker;
+
+  public WriteTransactionExecutor(
+      PlatformTransactionManager transactionManager,
+      EntityManager entityManager,
+      AccountRepository accountRepository,
+      @Value("${app.group-commit.enabled}") boolean groupCommitEnabled,
+      @Value("${app.group-commit.max-batch-size}") int maxBatchSize,
+      @Value("${app.group-commit.max-wait-micros}") long maxWaitMicros,
+      @Value("${app.group-commit.max-queue-wait-millis}") long maxQueueWaitMillis,
+      @Value("${app.group-commit.queue-capacity}") int queueCapacity) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.entityManager = entityManager;
+    this.accountRepository = accountRepository;
+    this.groupCommitEnabled = groupCommitEnabled;
+    this.maxBatchSize = maxBatchSize;
+    this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+    this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (groupCommitEnabled) {
+      running = true;
+      worker = new Thread(this::run, "group-commit");
+      worker.setDaemon(true);
+      worker.start();
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    runQueuedAlone();
+  }
+
+  /** Runs {@code work}, which may only change the accounts with the given ids. */
+  public <T> T execute(Supplier<T> work, long... accountIds) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      lockOneByOne(sorted(accountIds));
+      return work.get();
+    }
+    if (!running) {
+      return transactionTemplate.execute(
+          status -> {
+            lockOneByOne(sorted(accountIds));
+            return work.get();
+          });
+    }
+    PendingWrite<T> pending = new PendingWrite<>(work, accountIds);
+    if (!queue.offer(pending)) {
+      pending.claim();
+      runAlone(pending);
+    } else if (!running && pending.claim()) {
+      // The worker stopped after we checked; nobody else will take the write off the queue.
+      queue.remove(pending);
+      runAlone(pending);
+    }
+    return await(pending);
+  }
+
+  private <T> T await(PendingWrite<T> pending) {
+    boolean interrupted = false;
+    try {
+      pending.future.get(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      // the outcome is read below
+    } catch (InterruptedException e) {
+      interrupted = true;
+    }
+    // Still queued means the worker is stuck or gone, so commit the write here instead. Once the
+    // worker has claimed it, it is part of a running batch and has to be waited for.
+    if (!pending.future.isDone() && pending.claim()) {
+      queue.remove(pending);
+      runAlone(pending);
+    }
+    try {
+      return pending.future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void run() {
+    List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+    List<PendingWrite<?>> drained = new ArrayList<>(maxBatchSize);
+    try {
+      while (running) {
+        PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null || !first.claim()) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+          queue.drainTo(drained, maxBatchSize - batch.size());
+          for (PendingWrite<?> pending : drained) {
+            if (pending.claim()) {
+              batch.add(pending);
+            }
+          }
+          drained.clear();
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= maxBatchSize || remaining <= 0) {
+            break;
+          }
+          PendingWrite<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          if (next.claim()) {
+            batch.add(next);
+          }
+        }
+        commit(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      batch.forEach(this::runAlone);
+    } catch (RuntimeException | Error e) {
+      log.error("Group commit worker died, writes fall back to their own transactions", e);
+      batch.forEach(pending -> pending.future.completeExceptionally(e));
+      throw e;
+    } finally {
+      running = false;
+      runQueuedAlone();
+    }
+  }
+
+  int queuedWrites() {
+    return queue.size();
+  }
+
+  private void commit(List<PendingWrite<?>> batch) {
+    SortedSet<Long> accountIds = new TreeSet<>();
+    for (PendingWrite<?> pending : batch) {
+      for (long accountId : pending.accountIds) {
+        accountIds.add(accountId);
+      }
+    }
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (!accountIds.isEmpty()) {
+              accountRepository.lockAllInIdOrder(accountIds);
+            }
+            batch.forEach(PendingWrite::apply);
+          });
+    } catch (RuntimeException e) {
+      log.warn("Group commit of {} writes failed, retrying them one by one", batch.size(), e);
+      batch.forEach(this::runAlone);
+      return;
+    }
+    batch.forEach(PendingWrite::complete);
+  }
+
+  private void runQueuedAlone() {
+    PendingWrite<?> pending;
+    while ((pending = queue.poll()) != null) {
+      if (pending.claim()) {
+        runAlone(pending);
+      }
+    }
+  }
+
+  // Only called by whoever claimed the write.
+  private void runAlone(PendingWrite<?> pending) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            lockOneByOne(sorted(pending.accountIds));
+            pending.apply();
+          });
+      pending.complete();
+    } catch (RuntimeException | Error e) {
+      pending.future.completeExceptionally(e);
+    }
+  }
+
+  // A lookup by primary key does not flush the writes already made in a shared transaction.
+  private void lockOneByOne(SortedSet<Long> accountIds) {
+    for (long accountId : accountIds) {
+      entityManager.find(Account.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+    }
+  }
+
+  private static SortedSet<Long> sorted(long[] accountIds) {
+    SortedSet<Long> sorted = new TreeSet<>();
+    for (long accountId : accountIds) {
+      sorted.add(accountId);
+    }
+    return sorted;
+  }
+
+  private static class PendingWrite<T> {
+    private final Supplier<T> work;
+    private final long[] accountIds;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private T result;
+    private BankingException failure;
+
+    private PendingWrite(Supplier<T> work, long[] accountIds) {
+      this.work = work;
+      this.accountIds = accountIds;
+    }
+
+    // Exactly one of the worker, the caller or stop() gets to run the write.
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private void apply() {
+      result = null;
+      failure = null;
+      try {
+        result = work.get();
+      } catch (BankingException e) {
+        failure = e;
+      }
+    }
+
+    private void complete() {
+      if (failure != null) {
+        future.completeExceptionally(failure);
+      } else {
+        future.complete(result);
+      }
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.skypro.simplebanking;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base class for tests that need the full application against a real PostgreSQL. The container is
+ * started once per JVM and shared by every subclass, so the cached Spring context stays valid.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+  private static final PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:15-alpine");
+
+  static {
+    POSTGRES.start();
+  }
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+}
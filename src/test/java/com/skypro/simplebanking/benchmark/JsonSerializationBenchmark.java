@@ -0,0 +1,99 @@
+package com.skypro.simplebanking.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.skypro.simplebanking.configuration.BankingJacksonModule;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.ListAccountDTO;
+import com.skypro.simplebanking.dto.ListUserDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hand-written serializers of {@link BankingJacksonModule} against the bean (de)serializers of a
+ * plain mapper, for the response and request bodies of the hot paths. Run through the benchmark
+ * profile, the GC profiler reports the bytes allocated per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+  @Param({"plain", "blackbird", "module"})
+  public String mapper;
+
+  private ObjectMapper objectMapper;
+  private AccountDTO account;
+  private UserDTO user;
+  private List<ListUserDTO> users;
+  private byte[] transferRequest;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    if (!mapper.equals("plain")) {
+      objectMapper.registerModule(new BlackbirdModule());
+    }
+    if (mapper.equals("module")) {
+      objectMapper.registerModule(new BankingJacksonModule());
+    }
+    account = new AccountDTO(1, 100_000, AccountCurrency.USD);
+    List<AccountDTO> accounts = new ArrayList<>();
+    for (AccountCurrency currency : AccountCurrency.values()) {
+      accounts.add(new AccountDTO(currency.ordinal() + 1, 100_000, currency));
+    }
+    user = new UserDTO(1, "benchmark-user", accounts);
+    users = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      List<ListAccountDTO> listAccounts = new ArrayList<>();
+      for (AccountCurrency currency : AccountCurrency.values()) {
+        listAccounts.add(new ListAccountDTO(i * 3L + currency.ordinal(), currency));
+      }
+      users.add(new ListUserDTO(i, "user-" + i, listAccounts));
+    }
+    transferRequest =
+        "{\"fromAccountId\":1,\"toUserId\":2,\"toAccountId\":4,\"amount\":100}"
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeAccount() throws IOException {
+    return objectMapper.writeValueAsBytes(account);
+  }
+
+  @Benchmark
+  public byte[] writeUser() throws IOException {
+    return objectMapper.writeValueAsBytes(user);
+  }
+
+  @Benchmark
+  public byte[] writeUserList() throws IOException {
+    return objectMapper.writeValueAsBytes(users);
+  }
+
+  @Benchmark
+  public TransferRequest readTransferRequest() throws IOException {
+    return objectMapper.readValue(transferRequest, TransferRequest.class);
+  }
+}
@@ -0,0 +1,119 @@
+package com.skypro.simplebanking.benchmark;
+
+import com.skypro.simplebanking.SimpleBankingApplication;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.exception.BankingException;
+import com.skypro.simplebanking.service.AccountService;
+import com.skypro.simplebanking.service.TransferService;
+import com.skypro.simplebanking.service.UserService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Cost of a request rejected by the pre-transaction checks compared with an accepted deposit, on
+ * the full application against PostgreSQL. The rejected paths should stay in the low microseconds
+ * and allocate next to nothing, while the accepted one pays for a transaction and a commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedRequestBenchmark {
+  private PostgreSQLContainer<?> postgres;
+  private ConfigurableApplicationContext context;
+  private AccountService accountService;
+  private TransferService transferService;
+  private long userId;
+  private long otherUserId;
+  private long accountId;
+  private TransferRequest wrongCurrencyTransfer;
+
+  @Setup(Level.Trial)
+  public void start() {
+    postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+    postgres.start();
+    context =
+        new SpringApplicationBuilder(SimpleBankingApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "app.monitoring.slow-query-threshold-ms=10000",
+                "logging.level.root=WARN")
+            .run();
+    UserService userService = context.getBean(UserService.class);
+    accountService = context.getBean(AccountService.class);
+    transferService = context.getBean(TransferService.class);
+
+    UserDTO user = userService.createUser("benchmark-user", "password");
+    UserDTO otherUser = userService.createUser("benchmark-other-user", "password");
+    AccountDTO usd = user.getAccounts().get(0);
+    AccountDTO eur = otherUser.getAccounts().get(1);
+    userId = user.getId();
+    otherUserId = otherUser.getId();
+    accountId = usd.getId();
+    wrongCurrencyTransfer = new TransferRequest();
+    wrongCurrencyTransfer.setFromAccountId(usd.getId());
+    wrongCurrencyTransfer.setToUserId(otherUser.getId());
+    wrongCurrencyTransfer.setToAccountId(eur.getId());
+    wrongCurrencyTransfer.setAmount(1);
+    // Warm the ownership directory so that every benchmark sees steady state.
+    accountService.getAccount(userId, accountId);
+    accountService.getAccount(otherUserId, eur.getId());
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    context.close();
+    postgres.stop();
+  }
+
+  @Benchmark
+  public Object acceptedDeposit() {
+    return accountService.depositToAccount(userId, accountId, 1);
+  }
+
+  @Benchmark
+  public Object rejectedDepositOfNegativeAmount() {
+    return reject(() -> accountService.depositToAccount(userId, accountId, -1));
+  }
+
+  @Benchmark
+  public Object rejectedDepositToForeignAccount() {
+    return reject(() -> accountService.depositToAccount(otherUserId, accountId, 1));
+  }
+
+  @Benchmark
+  public Object rejectedTransferInWrongCurrency() {
+    return reject(() -> transferService.transfer(userId, wrongCurrencyTransfer));
+  }
+
+  private static Object reject(Runnable call) {
+    try {
+      call.run();
+    } catch (BankingException expected) {
+      return expected;
+    }
+    throw new IllegalStateException("Request was expected to be rejected");
+  }
+}
@@ -0,0 +1,86 @@
+package com.skypro.simplebanking.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CacheInvalidationBusTest {
+  private final LocalInvalidationTransport transport = new LocalInvalidationTransport();
+  private final CacheInvalidationBus bus = new CacheInvalidationBus(transport, true, 100, 300);
+  private final AtomicInteger loads = new AtomicInteger();
+  private VersionedCache<String> cache;
+
+  @BeforeEach
+  void start() {
+    bus.start();
+    cache = bus.createCache("accounts");
+  }
+
+  @AfterEach
+  void stop() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    bus.stop();
+  }
+
+  @Test
+  void invalidatesImmediatelyOutsideTransaction() {
+    cache.get("1", this::load);
+
+    bus.invalidateAfterCommit("accounts", "1");
+
+    assertThat(cache.get("1", this::load)).isEqualTo("1-2");
+  }
+
+  @Test
+  void invalidatesOnlyAfterCommit() {
+    cache.get("1", this::load);
+    TransactionSynchronizationManager.initSynchronization();
+
+    bus.invalidateAfterCommit("accounts", "1");
+    assertThat(cache.get("1", this::load)).isEqualTo("1-1");
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+    assertThat(cache.get("1", this::load)).isEqualTo("1-2");
+  }
+
+  @Test
+  void remoteInvalidationIsApplied() {
+    cache.get("1", this::load);
+    cache.get("2", this::load);
+
+    transport.publish("accounts", "1");
+
+    assertThat(cache.get("1", this::load)).isEqualTo("1-3");
+    assertThat(cache.get("2", this::load)).isEqualTo("2-2");
+  }
+
+  @Test
+  void invalidationOfAllKeysClearsCache() {
+    cache.get("1", this::load);
+    cache.get("2", this::load);
+
+    transport.publish("accounts", CacheInvalidationBus.ALL_KEYS);
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void invalidationOfOtherCacheIsIgnored() {
+    cache.get("1", this::load);
+
+    transport.publish("users", "1");
+
+    assertThat(cache.get("1", this::load)).isEqualTo("1-1");
+  }
+
+  private String load(String key) {
+    return key + "-" + loads.incrementAndGet();
+  }
+}
@@ -0,0 +1,132 @@
+package com.skypro.simplebanking.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class VersionedCacheTest {
+  private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final VersionedCache<String> cache =
+      new VersionedCache<>("test", 100, TTL_NANOS, clock::get);
+
+  @Test
+  void servesLoadedValueFromCache() {
+    assertThat(cache.get("a", this::load)).isEqualTo("a-1");
+    assertThat(cache.get("a", this::load)).isEqualTo("a-1");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void newerInvalidationForcesReload() {
+    cache.get("a", this::load);
+
+    cache.invalidate("a", 5);
+
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+  }
+
+  @Test
+  void outOfOrderInvalidationIsDropped() {
+    cache.get("a", this::load);
+    cache.invalidate("a", 5);
+    cache.get("a", this::load);
+
+    cache.invalidate("a", 3);
+    cache.invalidate("a", 5);
+
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void invalidationOfUncachedKeyLeavesNothingBehind() {
+    for (int i = 0; i < 1000; i++) {
+      cache.invalidate("key-" + i, i + 1);
+    }
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void loadRacingWithInvalidationOfItsKeyIsNotStored() {
+    String value =
+        cache.get(
+            "a",
+            key -> {
+              cache.invalidate("a", 1);
+              return load(key);
+            });
+
+    assertThat(value).isEqualTo("a-1");
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+  }
+
+  @Test
+  void loadRacingWithLocalInvalidationIsNotStored() {
+    cache.get(
+        "a",
+        key -> {
+          cache.invalidateLocally("a");
+          return load(key);
+        });
+
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+  }
+
+  @Test
+  void loadRacingWithInvalidationOfOtherKeyIsStored() {
+    cache.get("b", this::load);
+    cache.get(
+        "a",
+        key -> {
+          cache.invalidate("b", 1);
+          cache.invalidate("c", 1);
+          return load(key);
+        });
+
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void entriesExpireAfterTimeToLive() {
+    cache.get("a", this::load);
+
+    clock.addAndGet(TTL_NANOS - 1);
+    assertThat(cache.get("a", this::load)).isEqualTo("a-1");
+    clock.addAndGet(1);
+    assertThat(cache.get("a", this::load)).isEqualTo("a-2");
+  }
+
+  @Test
+  void staysWithinMaximumSize() {
+    VersionedCache<String> small = new VersionedCache<>("small", 10, TTL_NANOS, clock::get);
+
+    for (int i = 0; i < 100; i++) {
+      small.get("key-" + i, this::load);
+    }
+
+    assertThat(small.size()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void disabledCacheAlwaysLoads() {
+    VersionedCache<String> disabled = new VersionedCache<>("disabled", 0, TTL_NANOS, clock::get);
+
+    disabled.get("a", this::load);
+    disabled.get("a", this::load);
+
+    assertThat(loads).hasValue(2);
+    assertThat(disabled.size()).isZero();
+  }
+
+  private String load(String key) {
+    return key + "-" + loads.incrementAndGet();
+  }
+}
@@ -0,0 +1,163 @@
+package com.skypro.simplebanking.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.BalanceChangeRequest;
+import com.skypro.simplebanking.dto.ListAccountDTO;
+import com.skypro.simplebanking.dto.ListUserDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The module must produce and accept exactly what the bean (de)serializers do. Both mappers are
+ * configured like the one Spring Boot builds, which ignores unknown properties.
+ */
+class BankingJacksonModuleTest {
+  private final ObjectMapper plainMapper =
+      new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final ObjectMapper moduleMapper =
+      new ObjectMapper()
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+          .registerModule(new BankingJacksonModule());
+
+  @Test
+  void writesAccountInBeanOrder() throws Exception {
+    assertWrites(
+        new AccountDTO(1, 100, AccountCurrency.USD),
+        "{\"id\":1,\"amount\":100,\"currency\":\"USD\"}");
+  }
+
+  @Test
+  void writesUserWithAccounts() throws Exception {
+    UserDTO user =
+        new UserDTO(
+            7,
+            "alice",
+            List.of(
+                new AccountDTO(1, 100, AccountCurrency.USD),
+                new AccountDTO(2, -5, AccountCurrency.RUB)));
+
+    assertWrites(
+        user,
+        "{\"id\":7,\"username\":\"alice\",\"accounts\":["
+            + "{\"id\":1,\"amount\":100,\"currency\":\"USD\"},"
+            + "{\"id\":2,\"amount\":-5,\"currency\":\"RUB\"}]}");
+  }
+
+  @Test
+  void writesUserList() throws Exception {
+    List<ListUserDTO> users =
+        List.of(
+            new ListUserDTO(7, "alice", List.of(new ListAccountDTO(1L, AccountCurrency.EUR))),
+            new ListUserDTO(8, "bob", List.of()));
+
+    assertWrites(
+        users,
+        "[{\"id\":7,\"username\":\"alice\",\"accounts\":[{\"accountId\":1,\"currency\":\"EUR\"}]},"
+            + "{\"id\":8,\"username\":\"bob\",\"accounts\":[]}]");
+  }
+
+  @Test
+  void writesNullsLikeBeanSerializer() throws Exception {
+    assertWrites(new AccountDTO(1, 0, null), "{\"id\":1,\"amount\":0,\"currency\":null}");
+    assertWrites(new ListAccountDTO(null, null), "{\"accountId\":null,\"currency\":null}");
+    assertWrites(new UserDTO(1, null, null), "{\"id\":1,\"username\":null,\"accounts\":null}");
+    assertWrites(
+        new ListUserDTO(1, null, null), "{\"id\":1,\"username\":null,\"accounts\":null}");
+  }
+
+  @Test
+  void readsTransferRequestInAnyFieldOrder() throws Exception {
+    TransferRequest request =
+        assertReadsTransfer(
+            "{\"amount\":5,\"toAccountId\":3,\"toUserId\":2,\"fromAccountId\":1}");
+
+    assertThat(request.getFromAccountId()).isEqualTo(1);
+    assertThat(request.getToUserId()).isEqualTo(2);
+    assertThat(request.getToAccountId()).isEqualTo(3);
+    assertThat(request.getAmount()).isEqualTo(5);
+  }
+
+  @Test
+  void skipsUnknownFields() throws Exception {
+    TransferRequest request =
+        assertReadsTransfer(
+            "{\"note\":{\"tags\":[1,{\"amount\":9}]},\"fromAccountId\":1,\"extra\":[],"
+                + "\"amount\":5,\"flag\":true}");
+
+    assertThat(request.getAmount()).isEqualTo(5);
+    assertThat(assertReadsBalanceChange("{\"comment\":\"x\",\"amount\":4,\"tail\":null}"))
+        .isEqualTo(4);
+  }
+
+  @Test
+  void coercesNonIntegerTokensLikeBeanDeserializer() throws Exception {
+    assertThat(assertReadsBalanceChange("{\"amount\":\"12\"}")).isEqualTo(12);
+    assertThat(assertReadsBalanceChange("{\"amount\":12.7}")).isEqualTo(12);
+    assertThat(assertReadsBalanceChange("{\"amount\":null}")).isZero();
+    assertThat(assertReadsBalanceChange("{}")).isZero();
+    assertThat(assertReadsTransfer("{\"toUserId\":\"2\",\"amount\":1.0}").getToUserId())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void rejectsInvalidInputLikeBeanDeserializer() {
+    for (String json :
+        Arrays.asList("{\"amount\":\"abc\"}", "{\"amount\":[1]}", "{\"amount\":{}}", "[]")) {
+      Class<? extends Throwable> expected =
+          assertThrows(
+                  JsonMappingException.class,
+                  () -> plainMapper.readValue(json, BalanceChangeRequest.class))
+              .getClass();
+      assertThat(
+              assertThrows(
+                  JsonMappingException.class,
+                  () -> moduleMapper.readValue(json, BalanceChangeRequest.class)))
+          .as(json)
+          .isInstanceOf(expected);
+    }
+  }
+
+  @Test
+  void roundTripsRequests() throws Exception {
+    TransferRequest transferRequest = new TransferRequest();
+    transferRequest.setFromAccountId(Long.MAX_VALUE);
+    transferRequest.setToUserId(2);
+    transferRequest.setToAccountId(3);
+    transferRequest.setAmount(-4);
+
+    TransferRequest read =
+        moduleMapper.readValue(
+            moduleMapper.writeValueAsString(transferRequest), TransferRequest.class);
+
+    assertThat(read).usingRecursiveComparison().isEqualTo(transferRequest);
+  }
+
+  private void assertWrites(Object value, String expectedJson) throws Exception {
+    assertThat(plainMapper.writeValueAsString(value)).isEqualTo(expectedJson);
+    assertThat(moduleMapper.writeValueAsString(value)).isEqualTo(expectedJson);
+  }
+
+  private TransferRequest assertReadsTransfer(String json) throws Exception {
+    TransferRequest expected = plainMapper.readValue(json, TransferRequest.class);
+    TransferRequest actual = moduleMapper.readValue(json, TransferRequest.class);
+    assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    return actual;
+  }
+
+  private long assertReadsBalanceChange(String json) throws Exception {
+    long expected = plainMapper.readValue(json, BalanceChangeRequest.class).getAmount();
+    long actual = moduleMapper.readValue(json, BalanceChangeRequest.class).getAmount();
+    assertThat(actual).isEqualTo(expected);
+    return actual;
+  }
+}
@@ -0,0 +1,69 @@
+package com.skypro.simplebanking.monitoring;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.function.Supplier;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Counts statements going through the proxied {@code DataSource} on the test thread. Use it through
+ * {@link MaxQueryCount} or the static {@code assertMaxQueries} helpers for a single call, e.g.
+ * {@code assertMaxQueries(2, () -> userService.listUsers())}.
+ */
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    QueryCountHolder.clear();
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    try {
+      AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueryCount.class)
+          .ifPresent(
+              maxQueryCount ->
+                  check(maxQueryCount.value(), context.getRequiredTestMethod().getName()));
+    } finally {
+      QueryCountHolder.clear();
+    }
+  }
+
+  public static void assertMaxQueries(int maxQueries, Runnable call) {
+    assertMaxQueries(
+        maxQueries,
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  public static <T> T assertMaxQueries(int maxQueries, Supplier<T> call) {
+    QueryCountHolder.clear();
+    try {
+      T result = call.get();
+      check(maxQueries, "call");
+      return result;
+    } finally {
+      QueryCountHolder.clear();
+    }
+  }
+
+  private static void check(int maxQueries, String name) {
+    long executed = QueryCountHolder.getGrandTotal().getTotal();
+    if (executed > maxQueries) {
+      fail(
+          "Expected at most "
+              + maxQueries
+              + " SQL statements for "
+              + name
+              + " but "
+              + executed
+              + " were executed");
+    }
+  }
+}
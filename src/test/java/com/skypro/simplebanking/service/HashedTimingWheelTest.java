@@ -0,0 +1,61 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+  private static final long TICK_MILLIS = 100;
+  private static final int WHEEL_SIZE = 8;
+  private static final long START_MILLIS = 1_000;
+
+  private final HashedTimingWheel<String> wheel =
+      new HashedTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, START_MILLIS);
+
+  @Test
+  void expiresTaskOnItsDeadlineTick() {
+    wheel.schedule("task", START_MILLIS + 350);
+
+    assertThat(wheel.advance(START_MILLIS + 299)).isEmpty();
+    assertThat(wheel.advance(START_MILLIS + 300)).containsExactly("task");
+    assertThat(wheel.advance(START_MILLIS + 10_000)).isEmpty();
+  }
+
+  @Test
+  void waitsFullRotationsForDistantDeadlines() {
+    long deadline = START_MILLIS + (2 * WHEEL_SIZE + 3) * TICK_MILLIS;
+    wheel.schedule("distant", deadline);
+
+    assertThat(wheel.advance(START_MILLIS + 3 * TICK_MILLIS)).isEmpty();
+    assertThat(wheel.advance(START_MILLIS + (WHEEL_SIZE + 3) * TICK_MILLIS)).isEmpty();
+    assertThat(wheel.advance(deadline - 1)).isEmpty();
+    assertThat(wheel.advance(deadline)).containsExactly("distant");
+  }
+
+  @Test
+  void expiresOverdueTaskOnNextAdvance() {
+    wheel.advance(START_MILLIS + 500);
+    wheel.schedule("overdue", START_MILLIS);
+
+    assertThat(wheel.advance(START_MILLIS + 500)).isEmpty();
+    assertThat(wheel.advance(START_MILLIS + 600)).containsExactly("overdue");
+  }
+
+  @Test
+  void expiresTasksSharingBucketIndependently() {
+    wheel.schedule("first", START_MILLIS + 200);
+    wheel.schedule("second", START_MILLIS + (WHEEL_SIZE + 2) * TICK_MILLIS);
+
+    assertThat(wheel.advance(START_MILLIS + 200)).containsExactly("first");
+    assertThat(wheel.advance(START_MILLIS + (WHEEL_SIZE + 2) * TICK_MILLIS))
+        .containsExactly("second");
+  }
+
+  @Test
+  void rejectsWheelSizeThatIsNotPowerOfTwo() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HashedTimingWheel<String>(TICK_MILLIS, 6, START_MILLIS));
+  }
+}
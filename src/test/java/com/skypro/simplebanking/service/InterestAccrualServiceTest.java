@@ -0,0 +1,95 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.skypro.simplebanking.PostgresIntegrationTest;
+import com.skypro.simplebanking.configuration.InterestAccrualProperties;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.InterestAccrualPartition;
+import com.skypro.simplebanking.repository.AccountRepository;
+import com.skypro.simplebanking.repository.InterestAccrualPartitionRepository;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Interest accrual runs that are interrupted part way and resumed. */
+class InterestAccrualServiceTest extends PostgresIntegrationTest {
+  @Autowired private InterestAccrualService interestAccrualService;
+  @Autowired private InterestAccrualPartitionRepository partitionRepository;
+  @Autowired private InterestAccrualProperties properties;
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private AccountService accountService;
+  @Autowired private UserService userService;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void interruptedRunIsResumedAndCreditsInterestOnce() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    UserDTO user = userService.createUser("user-" + UUID.randomUUID(), "password");
+    Map<Long, Long> before = new HashMap<>();
+    for (AccountDTO account : user.getAccounts()) {
+      accountService.depositToAccount(user.getId(), account.getId(), 3_650_000);
+      before.put(account.getId(), balance(account));
+    }
+    LocalDate accrualDate = LocalDate.of(2000, 1, 1);
+
+    List<InterestAccrualPartition> partitions =
+        transactionTemplate.execute(
+            status -> interestAccrualService.preparePartitions(accrualDate));
+
+    // The partitions cover the whole id space without gaps or overlaps.
+    partitions.sort(Comparator.comparing(InterestAccrualPartition::getRangeStart));
+    assertThat(partitions).hasSizeBetween(1, properties.getPartitions());
+    assertThat(partitions.get(0).getRangeStart()).isEqualTo(accountRepository.findMinId() - 1);
+    assertThat(partitions.get(partitions.size() - 1).getRangeEnd())
+        .isEqualTo(accountRepository.findMaxId());
+    for (int i = 1; i < partitions.size(); i++) {
+      assertThat(partitions.get(i).getRangeStart()).isEqualTo(partitions.get(i - 1).getRangeEnd());
+    }
+
+    // The run stops after the first chunk of the user's first account has committed.
+    long firstAccountId = user.getAccounts().get(0).getId();
+    InterestAccrualPartition interrupted =
+        partitions.stream()
+            .filter(p -> p.getRangeStart() < firstAccountId && firstAccountId <= p.getRangeEnd())
+            .findFirst()
+            .orElseThrow();
+    assertThat(
+            interestAccrualService.accrueChunkWithRetry(
+                interrupted, interrupted.getRangeStart(), firstAccountId))
+        .isTrue();
+    assertThat(partitionRepository.findById(interrupted.getId()).orElseThrow().getLastProcessedId())
+        .isEqualTo(firstAccountId);
+
+    // A worker still holding the checkpoint from before that chunk cannot apply it again.
+    Integer stale =
+        transactionTemplate.execute(
+            status ->
+                partitionRepository.advanceCheckpoint(
+                    interrupted.getId(), interrupted.getRangeStart(), firstAccountId, false));
+    assertThat(stale).isZero();
+
+    interestAccrualService.resumeIncompleteAccruals();
+    interestAccrualService.accrueInterest(accrualDate);
+
+    assertThat(partitionRepository.findIncompleteAccrualDates()).doesNotContain(accrualDate);
+    for (AccountDTO account : user.getAccounts()) {
+      long balance = before.get(account.getId());
+      long credit =
+          balance * properties.getAnnualRateBasisPoints().get(account.getCurrency()) / 3_650_000;
+      assertThat(balance(account)).isEqualTo(balance + credit);
+    }
+  }
+
+  private long balance(AccountDTO account) {
+    return accountRepository.findById(account.getId()).orElseThrow().getAmount();
+  }
+}
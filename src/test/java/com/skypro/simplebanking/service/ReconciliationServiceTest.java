@@ -0,0 +1,75 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.skypro.simplebanking.PostgresIntegrationTest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.repository.AccountDiscrepancyRepository;
+import com.skypro.simplebanking.repository.ReconciliationCheckpointRepository;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Full and incremental reconciliation runs against a real journal. */
+class ReconciliationServiceTest extends PostgresIntegrationTest {
+  @Autowired private ReconciliationService reconciliationService;
+  @Autowired private AccountDiscrepancyRepository discrepancyRepository;
+  @Autowired private ReconciliationCheckpointRepository checkpointRepository;
+  @Autowired private AccountService accountService;
+  @Autowired private UserService userService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void discrepancyIsReportedUntilAccountIsBalanced() {
+    UserDTO user = userService.createUser("user-" + UUID.randomUUID(), "password");
+    long corrupted = user.getAccounts().get(0).getId();
+    long movedAfterCorruption = user.getAccounts().get(1).getId();
+    assertThat(reconciliationService.reconcile(true)).isPresent();
+    assertThat(discrepancyRepository.existsById(corrupted)).isFalse();
+
+    shiftBalance(corrupted, 7);
+    assertThat(reconciliationService.reconcile(true).orElseThrow().isIncremental()).isFalse();
+    assertThat(discrepancyRepository.existsById(corrupted)).isTrue();
+
+    // Only accounts moved since the checkpoint are scanned, plus those already reported.
+    shiftBalance(movedAfterCorruption, 5);
+    accountService.depositToAccount(user.getId(), movedAfterCorruption, 10);
+    assertThat(reconciliationService.reconcile(false).orElseThrow().isIncremental()).isTrue();
+    assertThat(discrepancyRepository.existsById(corrupted)).isTrue();
+    assertThat(discrepancyRepository.existsById(movedAfterCorruption)).isTrue();
+
+    shiftBalance(corrupted, -7);
+    shiftBalance(movedAfterCorruption, -5);
+    reconciliationService.reconcile(false);
+    assertThat(discrepancyRepository.existsById(corrupted)).isFalse();
+    assertThat(discrepancyRepository.existsById(movedAfterCorruption)).isFalse();
+  }
+
+  @Test
+  void runIsSkippedWhileAnotherNodeHoldsTheLease() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    String otherNode = UUID.randomUUID().toString();
+    Instant now = Instant.now();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          checkpointRepository.insertIfMissing(1L);
+          checkpointRepository.acquireLease(1L, otherNode, now.plusSeconds(60), now);
+        });
+    try {
+      assertThat(reconciliationService.reconcile(false)).isEmpty();
+    } finally {
+      transactionTemplate.executeWithoutResult(
+          status -> checkpointRepository.releaseLease(1L, otherNode));
+    }
+    assertThat(reconciliationService.reconcile(false)).isPresent();
+  }
+
+  private void shiftBalance(long accountId, long delta) {
+    jdbcTemplate.update("UPDATE accounts SET amount = amount + ? WHERE id = ?", delta, accountId);
+  }
+}
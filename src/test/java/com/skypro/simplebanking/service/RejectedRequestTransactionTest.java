@@ -0,0 +1,92 @@
+package com.skypro.simplebanking.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.skypro.simplebanking.PostgresIntegrationTest;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.exception.AccountNotFoundException;
+import com.skypro.simplebanking.exception.InvalidAmountException;
+import com.skypro.simplebanking.exception.WrongCurrencyException;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** Requests that fail the pre-transaction checks must be rejected without a transaction. */
+class RejectedRequestTransactionTest extends PostgresIntegrationTest {
+  @Autowired private UserService userService;
+  @Autowired private AccountService accountService;
+  @Autowired private TransferService transferService;
+  @SpyBean private PlatformTransactionManager transactionManager;
+
+  private UserDTO user;
+  private UserDTO otherUser;
+
+  @BeforeEach
+  void createUsers() {
+    user = userService.createUser("user-" + UUID.randomUUID(), "password");
+    otherUser = userService.createUser("user-" + UUID.randomUUID(), "password");
+    // The first lookup of an account reads its owner in a read-only transaction.
+    user.getAccounts().forEach(account -> accountService.getAccount(user.getId(), account.getId()));
+    otherUser
+        .getAccounts()
+        .forEach(account -> accountService.getAccount(otherUser.getId(), account.getId()));
+    clearInvocations(transactionManager);
+  }
+
+  @Test
+  void rejectedDepositsNeverOpenTransaction() {
+    long accountId = user.getAccounts().get(0).getId();
+
+    assertThrows(
+        InvalidAmountException.class,
+        () -> accountService.depositToAccount(user.getId(), accountId, -1));
+    assertThrows(
+        AccountNotFoundException.class,
+        () -> accountService.depositToAccount(otherUser.getId(), accountId, 1));
+
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  void rejectedTransfersNeverOpenTransaction() {
+    AccountDTO usd = user.getAccounts().get(0);
+    TransferRequest wrongCurrency = transferRequest(usd, otherUser, otherUser.getAccounts().get(1));
+    TransferRequest foreignSource =
+        transferRequest(otherUser.getAccounts().get(0), otherUser, otherUser.getAccounts().get(0));
+
+    assertThrows(
+        WrongCurrencyException.class, () -> transferService.transfer(user.getId(), wrongCurrency));
+    assertThrows(
+        AccountNotFoundException.class,
+        () -> transferService.transfer(user.getId(), foreignSource));
+
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  void acceptedDepositOpensTransaction() {
+    accountService.depositToAccount(user.getId(), user.getAccounts().get(0).getId(), 1);
+
+    verify(transactionManager, atLeastOnce()).getTransaction(any());
+  }
+
+  private static TransferRequest transferRequest(
+      AccountDTO from, UserDTO recipient, AccountDTO to) {
+    TransferRequest transferRequest = new TransferRequest();
+    transferRequest.setFromAccountId(from.getId());
+    transferRequest.setToUserId(recipient.getId());
+    transferRequest.setToAccountId(to.getId());
+    transferRequest.setAmount(1);
+    return transferRequest;
+  }
+}
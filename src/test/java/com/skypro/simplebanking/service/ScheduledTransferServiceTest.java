@@ -0,0 +1,83 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.skypro.simplebanking.PostgresIntegrationTest;
+import com.skypro.simplebanking.configuration.ScheduledTransferProperties;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.entity.ScheduledTransfer;
+import com.skypro.simplebanking.repository.AccountRepository;
+import com.skypro.simplebanking.repository.ScheduledTransferRepository;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** Scheduled transfers leased by several nodes sharing one database. */
+class ScheduledTransferServiceTest extends PostgresIntegrationTest {
+  @Autowired private ScheduledTransferService scheduledTransferService;
+  @Autowired private ScheduledTransferRepository scheduledTransferRepository;
+  @Autowired private TransferService transferService;
+  @Autowired private AccountService accountService;
+  @Autowired private AccountDirectory accountDirectory;
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private UserService userService;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ScheduledTransferProperties properties;
+
+  @Test
+  void scheduleIsExecutedOnceByTwoNodes() throws InterruptedException {
+    UserDTO sender = userService.createUser("user-" + UUID.randomUUID(), "password");
+    UserDTO recipient = userService.createUser("user-" + UUID.randomUUID(), "password");
+    AccountDTO from = sender.getAccounts().get(0);
+    AccountDTO to = recipient.getAccounts().get(0);
+    accountService.depositToAccount(sender.getId(), from.getId(), 1_000);
+    long fromBefore = balance(from);
+    long toBefore = balance(to);
+
+    ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+    scheduledTransfer.setUserId(sender.getId());
+    scheduledTransfer.setFromAccountId(from.getId());
+    scheduledTransfer.setToUserId(recipient.getId());
+    scheduledTransfer.setToAccountId(to.getId());
+    scheduledTransfer.setAmount(100L);
+    scheduledTransfer.setNextExecutionAt(Instant.now().plusMillis(500));
+    scheduledTransfer.setActive(true);
+    long id = scheduledTransferRepository.save(scheduledTransfer).getId();
+
+    ScheduledTransferService otherNode =
+        new ScheduledTransferService(
+            scheduledTransferRepository,
+            transferService,
+            accountService,
+            accountDirectory,
+            transactionManager,
+            properties);
+    otherNode.start();
+    try {
+      CompletableFuture.allOf(
+              CompletableFuture.runAsync(scheduledTransferService::loadUpcoming),
+              CompletableFuture.runAsync(otherNode::loadUpcoming))
+          .join();
+
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (scheduledTransferRepository.findById(id).orElseThrow().isActive()
+          && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+      }
+    } finally {
+      otherNode.stop();
+    }
+
+    assertThat(scheduledTransferRepository.findById(id).orElseThrow().isActive()).isFalse();
+    assertThat(balance(from)).isEqualTo(fromBefore - 100);
+    assertThat(balance(to)).isEqualTo(toBefore + 100);
+  }
+
+  private long balance(AccountDTO account) {
+    return accountRepository.findById(account.getId()).orElseThrow().getAmount();
+  }
+}
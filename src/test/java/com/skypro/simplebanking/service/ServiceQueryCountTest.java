@@ -0,0 +1,117 @@
+package com.skypro.simplebanking.service;
+
+import static com.skypro.simplebanking.monitoring.QueryCountExtension.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.skypro.simplebanking.PostgresIntegrationTest;
+import com.skypro.simplebanking.dto.AccountDTO;
+import com.skypro.simplebanking.dto.ListUserDTO;
+import com.skypro.simplebanking.dto.TransferRequest;
+import com.skypro.simplebanking.dto.UserDTO;
+import com.skypro.simplebanking.monitoring.MaxQueryCount;
+import com.skypro.simplebanking.monitoring.QueryCountExtension;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Statement budgets of the request paths; exceeding one is a performance regression. */
+class ServiceQueryCountTest extends PostgresIntegrationTest {
+  @Autowired private UserService userService;
+  @Autowired private AccountService accountService;
+  @Autowired private TransferService transferService;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private UserDTO sender;
+  private UserDTO recipient;
+
+  @BeforeEach
+  void createUsers() {
+    sender = createUser();
+    recipient = createUser();
+    // Ownership lookups are cached after the first request for an account.
+    for (UserDTO user : List.of(sender, recipient)) {
+      for (AccountDTO account : user.getAccounts()) {
+        accountService.getAccount(user.getId(), account.getId());
+      }
+    }
+  }
+
+  @Test
+  void listUsersLoadsAllAccountsInOneStatement() {
+    createUser();
+    createUser();
+
+    List<ListUserDTO> users = assertMaxQueries(1, () -> userService.listUsers());
+
+    assertThat(users).hasSizeGreaterThanOrEqualTo(4);
+    assertThat(users).allSatisfy(user -> assertThat(user.getAccounts()).hasSize(3));
+  }
+
+  @Test
+  void transferStaysWithinBudget() {
+    AccountDTO from = sender.getAccounts().get(0);
+    AccountDTO to = recipient.getAccounts().get(0);
+    TransferRequest transferRequest = new TransferRequest();
+    transferRequest.setFromAccountId(from.getId());
+    transferRequest.setToUserId(recipient.getId());
+    transferRequest.setToAccountId(to.getId());
+    transferRequest.setAmount(1);
+
+    assertMaxQueries(5, () -> transferService.transfer(sender.getId(), transferRequest));
+  }
+
+  @Test
+  void writesSharingTransactionAreSentAsBatches() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    // Six deposits in one transaction, as a group commit runs them: one locking read per account,
+    // then one batch of UPDATEs, one batch of journal INSERTs and at most one sequence fetch.
+    assertMaxQueries(
+        9,
+        () ->
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                  for (UserDTO user : List.of(sender, recipient)) {
+                    for (AccountDTO account : user.getAccounts()) {
+                      accountService.depositToAccount(user.getId(), account.getId(), 1);
+                    }
+                  }
+                }));
+  }
+
+  @Test
+  @MaxQueryCount(7)
+  void createUserStaysWithinBudget() {
+    createUser();
+  }
+
+  @Test
+  void extensionFailsWhenBudgetIsExceeded() throws NoSuchMethodException {
+    ExtensionContext context = mock(ExtensionContext.class);
+    when(context.getRequiredTestMethod())
+        .thenReturn(getClass().getDeclaredMethod("noStatementsAllowed"));
+    QueryCountExtension extension = new QueryCountExtension();
+
+    extension.beforeTestExecution(context);
+    userService.listUsers();
+
+    assertThrows(AssertionFailedError.class, () -> extension.afterTestExecution(context));
+    assertThrows(AssertionFailedError.class, () -> assertMaxQueries(0, userService::listUsers));
+  }
+
+  @MaxQueryCount(0)
+  void noStatementsAllowed() {}
+
+  private UserDTO createUser() {
+    return userService.createUser("user-" + UUID.randomUUID(), "password");
+  }
+}
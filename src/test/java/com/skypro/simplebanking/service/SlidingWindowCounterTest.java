@@ -0,0 +1,55 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+  private static final long WINDOW_MILLIS = 60_000;
+  private static final int BUCKETS = 60;
+
+  private final SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MILLIS, BUCKETS);
+
+  @Test
+  void sumsValuesInsideTheWindow() {
+    counter.add(1_000, 2);
+    counter.add(1_500, 3);
+    counter.add(30_000, 5);
+
+    assertThat(counter.sum(30_000)).isEqualTo(10);
+    assertThat(counter.getLastUpdateMillis()).isEqualTo(30_000);
+  }
+
+  @Test
+  void dropsBucketsThatLeftTheWindow() {
+    counter.add(1_000, 2);
+    counter.add(30_000, 5);
+
+    assertThat(counter.sum(61_999)).isEqualTo(5);
+    assertThat(counter.sum(91_000)).isZero();
+  }
+
+  @Test
+  void recyclesBucketForItsNextEpoch() {
+    counter.add(1_000, 2);
+    counter.add(61_000, 7);
+
+    assertThat(counter.sum(61_000)).isEqualTo(7);
+  }
+
+  @Test
+  void ignoresAddsForEpochAlreadyRecycled() {
+    counter.add(61_000, 7);
+    counter.add(1_000, -2);
+
+    assertThat(counter.sum(61_000)).isEqualTo(7);
+  }
+
+  @Test
+  void negativeAddTakesChargeBack() {
+    counter.add(1_000, 4);
+    counter.add(1_000, -4);
+
+    assertThat(counter.sum(1_000)).isZero();
+  }
+}
@@ -0,0 +1,184 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.skypro.simplebanking.configuration.VelocityLimitProperties;
+import com.skypro.simplebanking.entity.AccountCurrency;
+import com.skypro.simplebanking.entity.MovementType;
+import com.skypro.simplebanking.exception.VelocityLimitExceededException;
+import com.skypro.simplebanking.repository.AccountMovementRepository;
+import com.skypro.simplebanking.repository.MovementEntry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityLimiterTest {
+  private static final long MAX_WITHDRAWALS = 10;
+  private static final long MAX_TRANSFERRED = 1_000;
+
+  private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+  private final AccountMovementRepository accountMovementRepository =
+      mock(AccountMovementRepository.class);
+  private final VelocityLimitProperties properties = new VelocityLimitProperties();
+  private VelocityLimiter velocityLimiter;
+
+  @BeforeEach
+  void createLimiter() {
+    VelocityLimitProperties.Rule rule = new VelocityLimitProperties.Rule();
+    rule.setMaxWithdrawalsPerMinute(MAX_WITHDRAWALS);
+    rule.setMaxTransferredPerHour(MAX_TRANSFERRED);
+    properties.getRules().put(AccountCurrency.USD, rule);
+    velocityLimiter = new VelocityLimiter(properties, accountMovementRepository, clock::get);
+  }
+
+  @Test
+  void rejectsWithdrawalsOverLimit() {
+    for (int i = 0; i < MAX_WITHDRAWALS; i++) {
+      velocityLimiter.checkWithdrawal(1, AccountCurrency.USD);
+    }
+
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkWithdrawal(1, AccountCurrency.USD));
+    velocityLimiter.checkWithdrawal(2, AccountCurrency.USD);
+  }
+
+  @Test
+  void refundFreesCharge() {
+    velocityLimiter.checkTransfer(1, AccountCurrency.USD, MAX_TRANSFERRED - 100);
+    long chargedAt = velocityLimiter.checkTransfer(1, AccountCurrency.USD, 100);
+
+    velocityLimiter.refundTransfer(1, AccountCurrency.USD, 100, chargedAt);
+
+    velocityLimiter.checkTransfer(1, AccountCurrency.USD, 100);
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkTransfer(1, AccountCurrency.USD, 1));
+  }
+
+  @Test
+  void rejectedCheckLeavesNoCharge() {
+    velocityLimiter.checkTransfer(1, AccountCurrency.USD, MAX_TRANSFERRED - 100);
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkTransfer(1, AccountCurrency.USD, 101));
+
+    velocityLimiter.checkTransfer(1, AccountCurrency.USD, 100);
+  }
+
+  @Test
+  void unlimitedCurrencyIsNotCharged() {
+    assertThat(velocityLimiter.checkWithdrawal(1, AccountCurrency.EUR))
+        .isEqualTo(VelocityLimiter.NOT_CHARGED);
+  }
+
+  @Test
+  void rejectsNewKeysWhenAllTrackedKeysAreActive() {
+    properties.setMaxTrackedKeys(2);
+    velocityLimiter.checkWithdrawal(1, AccountCurrency.USD);
+    velocityLimiter.checkWithdrawal(2, AccountCurrency.USD);
+
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkWithdrawal(3, AccountCurrency.USD));
+    velocityLimiter.checkWithdrawal(1, AccountCurrency.USD);
+  }
+
+  @Test
+  void evictsIdleKeysToMakeRoom() {
+    properties.setMaxTrackedKeys(2);
+    velocityLimiter.checkWithdrawal(1, AccountCurrency.USD);
+    velocityLimiter.checkWithdrawal(2, AccountCurrency.USD);
+
+    clock.addAndGet(TimeUnit.MINUTES.toMillis(2));
+
+    velocityLimiter.checkWithdrawal(3, AccountCurrency.USD);
+  }
+
+  @Test
+  void rebuildReplaysJournalPage() {
+    long now = clock.get();
+    List<MovementEntry> withdrawals = new ArrayList<>();
+    for (int i = 0; i < MAX_WITHDRAWALS; i++) {
+      withdrawals.add(entry(i + 1, 1, -1, now - 1000));
+    }
+    when(accountMovementRepository.findEntriesAfter(
+            eq(MovementType.WITHDRAWAL), any(), anyLong(), any()))
+        .thenReturn(withdrawals);
+    when(accountMovementRepository.findEntriesAfter(
+            eq(MovementType.TRANSFER_OUT), any(), anyLong(), any()))
+        .thenReturn(List.of(entry(100, 5, -MAX_TRANSFERRED, now - 1000)));
+
+    velocityLimiter.rebuild();
+
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkWithdrawal(1, AccountCurrency.USD));
+    assertThrows(
+        VelocityLimitExceededException.class,
+        () -> velocityLimiter.checkTransfer(7, AccountCurrency.USD, 1));
+    velocityLimiter.checkWithdrawal(2, AccountCurrency.USD);
+  }
+
+  @Test
+  void concurrentWithdrawalsNeverExceedLimit() throws Exception {
+    int threads = 16;
+    int attemptsPerThread = 50;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger accepted = new AtomicInteger();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                      velocityLimiter.checkWithdrawal(1, AccountCurrency.USD);
+                      accepted.incrementAndGet();
+                    } catch (VelocityLimitExceededException e) {
+                      // expected once the limit is reached
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(accepted.get()).isBetween(1, (int) MAX_WITHDRAWALS);
+  }
+
+  private static MovementEntry entry(long id, long accountId, long amount, long createdAtMillis) {
+    MovementEntry entry = mock(MovementEntry.class);
+    when(entry.getId()).thenReturn(id);
+    when(entry.getAccountId()).thenReturn(accountId);
+    when(entry.getUserId()).thenReturn(7L);
+    when(entry.getAccountCurrency()).thenReturn(AccountCurrency.USD);
+    when(entry.getAmount()).thenReturn(amount);
+    when(entry.getCreatedAt()).thenReturn(Instant.ofEpochMilli(createdAtMillis));
+    return entry;
+  }
+}
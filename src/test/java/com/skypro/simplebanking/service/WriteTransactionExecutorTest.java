@@ -0,0 +1,209 @@
+package com.skypro.simplebanking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.skypro.simplebanking.exception.AccountNotFoundException;
+import com.skypro.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+class WriteTransactionExecutorTest {
+  private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+  private final ExecutorService callers = Executors.newCachedThreadPool();
+  private final CountDownLatch workerBlocked = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private WriteTransactionExecutor executor;
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    release.countDown();
+    if (executor != null) {
+      executor.stop();
+    }
+    callers.shutdownNow();
+  }
+
+  @Test
+  void queuedWritesShareOneCommit() throws Exception {
+    executor = startExecutor(10_000);
+    Future<String> blocker = blockWorker();
+    List<Future<String>> writes = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      String result = "write-" + i;
+      writes.add(submit(() -> result));
+    }
+    waitUntil(() -> executor.queuedWrites() == 5);
+
+    release.countDown();
+
+    assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("blocker");
+    for (int i = 0; i < 5; i++) {
+      assertThat(writes.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("write-" + i);
+    }
+    assertThat(transactionManager.commits).hasValue(2);
+    assertThat(transactionManager.rollbacks).hasValue(0);
+  }
+
+  @Test
+  void rejectedWriteFailsAloneAndBatchCommits() throws Exception {
+    executor = startExecutor(10_000);
+    blockWorker();
+    Future<String> first = submit(() -> "first");
+    Future<String> rejected =
+        submit(
+            () -> {
+              throw AccountNotFoundException.INSTANCE;
+            });
+    Future<String> last = submit(() -> "last");
+    waitUntil(() -> executor.queuedWrites() == 3);
+
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+    assertThat(last.get(5, TimeUnit.SECONDS)).isEqualTo("last");
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+    assertThat(failure.getCause()).isSameAs(AccountNotFoundException.INSTANCE);
+    assertThat(transactionManager.commits).hasValue(2);
+    assertThat(transactionManager.rollbacks).hasValue(0);
+  }
+
+  @Test
+  void failedBatchIsRetriedWriteByWrite() throws Exception {
+    executor = startExecutor(10_000);
+    blockWorker();
+    AtomicInteger firstApplications = new AtomicInteger();
+    Future<String> first =
+        submit(
+            () -> {
+              firstApplications.incrementAndGet();
+              return "first";
+            });
+    Future<String> broken =
+        submit(
+            () -> {
+              throw new IllegalStateException("broken");
+            });
+    Future<String> last = submit(() -> "last");
+    waitUntil(() -> executor.queuedWrites() == 3);
+
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+    assertThat(last.get(5, TimeUnit.SECONDS)).isEqualTo("last");
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+    assertThat(failure.getCause()).isInstanceOf(IllegalStateException.class);
+    assertThat(firstApplications).hasValue(2);
+    // The blocker's batch, then first and last alone; the batch and the broken write roll back.
+    assertThat(transactionManager.commits).hasValue(3);
+    assertThat(transactionManager.rollbacks).hasValue(2);
+  }
+
+  @Test
+  void writeStuckInQueueRunsInCallerTransaction() throws Exception {
+    executor = startExecutor(50);
+    Future<String> blocker = blockWorker();
+
+    String result = executor.execute(() -> "late");
+
+    assertThat(result).isEqualTo("late");
+    assertThat(blocker).isNotDone();
+    assertThat(transactionManager.commits).hasValue(1);
+    release.countDown();
+    assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("blocker");
+  }
+
+  @Test
+  void writeAfterStopRunsInOwnTransaction() throws Exception {
+    executor = startExecutor(10_000);
+    executor.stop();
+
+    assertThat(executor.execute(() -> "alone")).isEqualTo("alone");
+    assertThat(transactionManager.commits).hasValue(1);
+  }
+
+  private WriteTransactionExecutor startExecutor(long maxQueueWaitMillis) {
+    WriteTransactionExecutor started =
+        new WriteTransactionExecutor(
+            transactionManager,
+            mock(EntityManager.class),
+            mock(AccountRepository.class),
+            true,
+            64,
+            0,
+            maxQueueWaitMillis,
+            100);
+    started.start();
+    return started;
+  }
+
+  // Occupies the worker with a write that only finishes on release, so later writes queue up.
+  private Future<String> blockWorker() throws InterruptedException {
+    Future<String> blocker =
+        submit(
+            () -> {
+              workerBlocked.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+              return "blocker";
+            });
+    assertThat(workerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+    return blocker;
+  }
+
+  private Future<String> submit(Supplier<String> work) {
+    return callers.submit(() -> executor.execute(work));
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger rollbacks = new AtomicInteger();
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+      commits.incrementAndGet();
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+      rollbacks.incrementAndGet();
+    }
+  }
+}